@@ -0,0 +1,120 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.bernardoms.timetravelapi.cache.HotTravelKeys;
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.cache.TravelResponseCache;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.config.HotKeysProperties;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import com.bernardoms.timetravelapi.config.ResponseCacheProperties;
+import com.bernardoms.timetravelapi.controller.ExceptionController;
+import com.bernardoms.timetravelapi.controller.TimeTravelController;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.bernardoms.timetravelapi.service.TimeTravelServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.validation.Validation;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full MVC round trips (controller, advice, Jackson) over the in-memory repository, comparing the 404/409 outcomes
+ * with the 200/201 ones. Logging is raised to WARN since writing it is the async appender's job, not the request's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+    private static final String NEW_TRAVEL = "{\"pgi\":\"A1234\",\"place\":\"Paris\",\"date\":\"2020-10-11\"}";
+    private static final String EXISTING_TRAVEL = "{\"pgi\":\"A1234\",\"place\":\"London\",\"date\":\"2020-10-10\"}";
+
+    private MockMvc mockMvc;
+    private String storedId;
+    private String unknownId;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        var travels = new InMemoryTravels();
+        var stored = new ObjectId();
+        travels.put(TimeTravel.builder().id(stored).pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build());
+        storedId = stored.toHexString();
+        unknownId = new ObjectId().toHexString();
+
+        var service = new TimeTravelServiceImpl(
+                travels.repository(),
+                new TimeTravelMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BatchProperties(),
+                new NegativeTravelCache(new NegativeCacheProperties()),
+                travelCacheManager(),
+                new InProcessTravelInvalidationBus(),
+                new ParadoxIndex(new ParadoxIndexProperties()),
+                null,
+                null);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TimeTravelController(service, objectMapper,
+                new HotTravelKeys(new HotKeysProperties()),
+                new TravelResponseCache(new ResponseCacheProperties(), objectMapper, new InProcessTravelInvalidationBus()),
+                new BatchProperties()))
+                .setControllerAdvice(new ExceptionController())
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult getFound() throws Exception {
+        return mockMvc.perform(get("/v1/travels/{travelId}", storedId)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getNotFound() throws Exception {
+        return mockMvc.perform(get("/v1/travels/{travelId}", unknownId)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult saveCreated() throws Exception {
+        return mockMvc.perform(post("/v1/travels").contentType(MediaType.APPLICATION_JSON).content(NEW_TRAVEL)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult saveParadox() throws Exception {
+        return mockMvc.perform(post("/v1/travels").contentType(MediaType.APPLICATION_JSON).content(EXISTING_TRAVEL)).andReturn();
+    }
+
+    private static CaffeineCacheManager travelCacheManager() {
+        var cacheManager = new CaffeineCacheManager("travel");
+        cacheManager.setCacheSpecification("maximumSize=500, expireAfterAccess=10m");
+        return cacheManager;
+    }
+}
@@ -0,0 +1,61 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.bernardoms.timetravelapi.repository.TimeTravelRepository;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Travels the benchmarks read instead of Mongo. {@link #repository()} answers the repository calls the benchmarks make
+ * from them and fails on any other, so a benchmark that starts reaching new queries has to say what they return.
+ * Inserts only assign an id, so the heap stays flat however long a benchmark runs; inserting a travel with the
+ * (pgi, date) of a stored one throws a shared {@link DuplicateKeyException}, leaving the driver's own cost of reporting
+ * it out of the measurement.
+ */
+class InMemoryTravels {
+    private static final DuplicateKeyException DUPLICATE_KEY = new DuplicateKeyException("E11000 duplicate key error");
+
+    private final Map<ObjectId, TimeTravel> travels = new HashMap<>();
+    private final Set<String> keys = new HashSet<>();
+
+    void put(TimeTravel travel) {
+        travels.put(travel.getId(), travel);
+        keys.add(key(travel));
+    }
+
+    /**
+     * A plain JDK proxy rather than a Mockito mock: stubbed mock calls cost microseconds, more than what the benchmarks
+     * measure.
+     */
+    TimeTravelRepository repository() {
+        return (TimeTravelRepository) Proxy.newProxyInstance(TimeTravelRepository.class.getClassLoader(), new Class<?>[]{TimeTravelRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("insert") && args[0] instanceof TimeTravel) {
+                        return insert((TimeTravel) args[0]);
+                    }
+                    if (method.getName().equals("findTravel")) {
+                        return Optional.ofNullable(travels.get(args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName() + " is not part of the benchmarks");
+                });
+    }
+
+    private TimeTravel insert(TimeTravel entity) {
+        if (keys.contains(key(entity))) {
+            throw DUPLICATE_KEY;
+        }
+        entity.setId(new ObjectId());
+        return entity;
+    }
+
+    private static String key(TimeTravel travel) {
+        return travel.getPgi() + '|' + travel.getDate();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The MDC filter as it was before the allowlist, kept only as the "before" side of {@link MDCFilterBenchmark}.
+ */
+class LegacyMDCFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
+        MDC.clear();
+        var requestId = String.valueOf(UUID.randomUUID());
+
+        httpServletResponse.setHeader("RequestId", requestId);
+        MDC.put("path", httpServletRequest.getRequestURI());
+        MDC.put("requestMethod", httpServletRequest.getMethod());
+        MDC.put("requestId", requestId);
+
+        var headers = Collections.list(httpServletRequest.getHeaderNames())
+                .stream()
+                .collect(Collectors.toMap(h -> h, httpServletRequest::getHeader));
+        headers.forEach(MDC::put);
+        httpServletRequest.getParameterMap().forEach((key, value) -> MDC.put(key, value[0]));
+
+        try {
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+        } finally {
+            MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import com.bernardoms.timetravelapi.config.MDCProperties;
+import com.bernardoms.timetravelapi.filter.MDCFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the filter adds to a request that carries the usual browser/proxy headers and a couple of params,
+ * with a chain that does nothing. {@code legacyFilter} is the filter before the allowlist and fast request ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MDCFilterBenchmark {
+    private final MDCFilter filter = new MDCFilter(new MDCProperties());
+    private final LegacyMDCFilter legacyFilter = new LegacyMDCFilter();
+    private final FilterChain chain = (request, response) -> { };
+
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest requestWithId;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/v1/travels");
+        request.addHeader("Host", "localhost:8080");
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64)");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("X-Forwarded-For", "10.0.0.1");
+        request.addParameter("page", "0");
+        request.addParameter("size", "20");
+        requestWithId = new MockHttpServletRequest("GET", "/v1/travels");
+        requestWithId.addHeader("Host", "localhost:8080");
+        requestWithId.addHeader(MDCFilter.REQUEST_ID_HEADER, "0af7651916cd43dd8448eb211c80319c");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filter() throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterWithIncomingRequestId() throws ServletException, IOException {
+        filter.doFilter(requestWithId, response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyFilter() throws ServletException, IOException {
+        legacyFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline() throws ServletException, IOException {
+        chain.doFilter(request, response);
+        return response;
+    }
+}
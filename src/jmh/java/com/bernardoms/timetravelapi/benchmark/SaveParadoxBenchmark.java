@@ -0,0 +1,78 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.ParadoxException;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.bernardoms.timetravelapi.service.TimeTravelServiceImpl;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import javax.validation.Validation;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves a travel whose (pgi, date) is taken, refused by the paradox index or by the duplicate key of the insert. The
+ * in-memory repository answers in nanoseconds, so the round trip saved against a real Mongo is not part of the figure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveParadoxBenchmark {
+    @Param({"true", "false"})
+    private boolean paradoxIndex;
+
+    private TimeTravelServiceImpl timeTravelService;
+    private TimeTravelDTO paradox;
+
+    @Setup
+    public void setUp() {
+        var travels = new InMemoryTravels();
+        travels.put(TimeTravel.builder().id(new ObjectId()).pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build());
+        var properties = new ParadoxIndexProperties();
+        properties.setEnabled(paradoxIndex);
+
+        timeTravelService = new TimeTravelServiceImpl(
+                travels.repository(),
+                new TimeTravelMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BatchProperties(),
+                new NegativeTravelCache(new NegativeCacheProperties()),
+                new ConcurrentMapCacheManager("travel"),
+                new InProcessTravelInvalidationBus(),
+                new ParadoxIndex(properties),
+                null,
+                null);
+        paradox = TimeTravelDTO.builder().pgi("A1234").place("Paris").date(LocalDate.of(2020, 10, 10)).build();
+    }
+
+    @Benchmark
+    public Object saveParadox() {
+        try {
+            return timeTravelService.saveTravel(paradox);
+        } catch (ParadoxException e) {
+            return e;
+        }
+    }
+}
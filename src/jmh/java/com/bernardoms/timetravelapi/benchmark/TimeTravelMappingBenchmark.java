@@ -0,0 +1,60 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeTravelMappingBenchmark {
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final TimeTravelMapper timeTravelMapper = new TimeTravelMapper();
+
+    private TimeTravel travel;
+    private TimeTravelDTO travelDTO;
+
+    @Setup
+    public void setUp() {
+        travel = TimeTravel.builder().id(new ObjectId()).pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+    }
+
+    @Benchmark
+    public TimeTravelDTO modelMapperToDTO() {
+        return modelMapper.map(travel, TimeTravelDTO.class);
+    }
+
+    @Benchmark
+    public TimeTravelDTO mapperToDTO() {
+        return timeTravelMapper.toDTO(travel);
+    }
+
+    @Benchmark
+    public TimeTravel modelMapperToEntity() {
+        return modelMapper.map(travelDTO, TimeTravel.class);
+    }
+
+    @Benchmark
+    public TimeTravel mapperToEntity() {
+        return timeTravelMapper.toEntity(travelDTO);
+    }
+}
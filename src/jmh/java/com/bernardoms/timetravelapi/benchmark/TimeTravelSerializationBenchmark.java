@@ -0,0 +1,62 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeTravelSerializationBenchmark {
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private final TimeTravelDTO travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+
+    @State(Scope.Benchmark)
+    public static class PageState {
+        @Param({"20", "100"})
+        private int pageSize;
+
+        private Page<TimeTravelDTO> page;
+
+        @Setup
+        public void setUp() {
+            var content = new ArrayList<TimeTravelDTO>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                content.add(TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 1, 1).plusDays(i)).build());
+            }
+            page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1000);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTravel() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(travelDTO);
+    }
+
+    @Benchmark
+    public byte[] serializePage(PageState state) throws JsonProcessingException {
+        return mapper.writeValueAsBytes(state.page);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.ParadoxException;
+import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.bernardoms.timetravelapi.service.TimeTravelServiceImpl;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import javax.validation.Validation;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls the service directly, so {@code getTravel} measures the uncached path behind the "travel" cache. The paradox
+ * index is off, otherwise every save of the same travel after the first would be refused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeTravelServiceBenchmark {
+    private TimeTravelServiceImpl timeTravelService;
+    private TimeTravelDTO travelDTO;
+    private ObjectId storedId;
+
+    @Setup
+    public void setUp() {
+        var travels = new InMemoryTravels();
+        storedId = new ObjectId();
+        travels.put(TimeTravel.builder().id(storedId).pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build());
+
+        timeTravelService = new TimeTravelServiceImpl(
+                travels.repository(),
+                new TimeTravelMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BatchProperties(),
+                new NegativeTravelCache(new NegativeCacheProperties()),
+                travelCacheManager(),
+                new InProcessTravelInvalidationBus(),
+                disabledParadoxIndex(),
+                null,
+                null);
+        travelDTO = TimeTravelDTO.builder().pgi("A1234").place("Paris").date(LocalDate.of(2020, 10, 11)).build();
+    }
+
+    @Benchmark
+    public String saveTravel() throws ParadoxException {
+        return timeTravelService.saveTravel(travelDTO);
+    }
+
+    @Benchmark
+    public TimeTravelDTO getTravel() throws TravelNotFoundException {
+        return timeTravelService.getTravel(storedId);
+    }
+
+    private static CaffeineCacheManager travelCacheManager() {
+        var cacheManager = new CaffeineCacheManager("travel");
+        cacheManager.setCacheSpecification("maximumSize=500, expireAfterAccess=10m");
+        return cacheManager;
+    }
+
+    private static ParadoxIndex disabledParadoxIndex() {
+        var properties = new ParadoxIndexProperties();
+        properties.setEnabled(false);
+        return new ParadoxIndex(properties);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bernardoms.timetravelapi.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.bernardoms.timetravelapi.cache.HotTravelKeys;
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.cache.TravelResponseCache;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.config.HotKeysProperties;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import com.bernardoms.timetravelapi.config.ResponseCacheProperties;
+import com.bernardoms.timetravelapi.controller.ExceptionController;
+import com.bernardoms.timetravelapi.controller.TimeTravelController;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.bernardoms.timetravelapi.service.TimeTravelService;
+import com.bernardoms.timetravelapi.service.TimeTravelServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.validation.Validation;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@code GET /v1/travels/{id}} on a travel already in the {@code travel} cache, with the DTO encoded by Jackson on
+ * every request or the encoded response written from {@code travel.response-cache}. Sampled for the percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TravelResponseBenchmark {
+    @Param({"false", "true"})
+    private boolean responseCache;
+
+    private MockMvc mockMvc;
+    private String storedId;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        var travels = new InMemoryTravels();
+        var stored = new ObjectId();
+        travels.put(TimeTravel.builder().id(stored).pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build());
+        storedId = stored.toHexString();
+
+        var cacheManager = new CaffeineCacheManager("travel");
+        cacheManager.setCacheSpecification("maximumSize=500, expireAfterAccess=10m");
+        var bus = new InProcessTravelInvalidationBus();
+        var service = new TimeTravelServiceImpl(
+                travels.repository(),
+                new TimeTravelMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BatchProperties(),
+                new NegativeTravelCache(new NegativeCacheProperties()),
+                cacheManager,
+                bus,
+                new ParadoxIndex(new ParadoxIndexProperties()),
+                null,
+                null);
+        var cacheInterceptor = new CacheInterceptor();
+        cacheInterceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+        cacheInterceptor.setCacheManager(cacheManager);
+        cacheInterceptor.afterSingletonsInstantiated();
+        var proxyFactory = new ProxyFactory(service);
+        proxyFactory.addAdvice(cacheInterceptor);
+        var cachedService = (TimeTravelService) proxyFactory.getProxy();
+        cachedService.getTravel(stored);
+
+        var properties = new ResponseCacheProperties();
+        properties.setEnabled(responseCache);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TimeTravelController(cachedService, objectMapper,
+                new HotTravelKeys(new HotKeysProperties()), new TravelResponseCache(properties, objectMapper, bus), new BatchProperties()))
+                .setControllerAdvice(new ExceptionController())
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult getCached() throws Exception {
+        return mockMvc.perform(get("/v1/travels/{travelId}", storedId)).andReturn();
+    }
+}
@@ -0,0 +1,34 @@
+package com.bernardoms.timetravelapi.admission;
+
+import java.nio.charset.StandardCharsets;
+
+public enum Admission {
+    ADMITTED(200, null),
+    RATE_LIMITED(429, "too many requests, slow down"),
+    CONCURRENCY_LIMITED(503, "too many requests in progress on this route, retry shortly"),
+    SHED_QUEUE_TIME(503, "overloaded, retry shortly"),
+    SHED_MONGO_POOL(503, "overloaded, retry shortly");
+
+    private final int status;
+    private final byte[] body;
+
+    Admission(int status, String description) {
+        this.status = status;
+        this.body = description == null ? null : ("{\"description\":\"" + description + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * The error body of a refused request, in the shape of {@link com.bernardoms.timetravelapi.dto.ErrorDTO}.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
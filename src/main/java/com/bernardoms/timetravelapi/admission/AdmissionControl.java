@@ -0,0 +1,100 @@
+package com.bernardoms.timetravelapi.admission;
+
+import com.bernardoms.timetravelapi.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a request is served. Sheddable routes are refused first while requests queue too long in front of
+ * the app or for a Mongo connection, then every route applies its per client rate and its concurrency limit. Each
+ * decision is counted as {@code http.server.admission}, tagged with the route and the outcome.
+ */
+@Component
+public class AdmissionControl {
+    public static final String REQUEST_START_HEADER = "X-Request-Start";
+
+    private final RouteLimiter[] routes;
+    private final RouteLimiter defaultRoute;
+    private final long maxQueueTimeMillis;
+    private final int maxMongoWaiters;
+    private final MongoPoolWaiters mongoPoolWaiters;
+
+    public AdmissionControl(AdmissionControlProperties properties, MongoPoolWaiters mongoPoolWaiters, MeterRegistry meterRegistry) {
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new RouteLimiter(routeName(route), route.getMethod(), route.getPath(), route,
+                        properties.getMaxClients(), properties.getClientIdleTime(), meterRegistry))
+                .toArray(RouteLimiter[]::new);
+        this.defaultRoute = new RouteLimiter("default", null, null, properties.getDefaultLimit(),
+                properties.getMaxClients(), properties.getClientIdleTime(), meterRegistry);
+        this.maxQueueTimeMillis = properties.getShedding().getMaxQueueTime().toMillis();
+        this.maxMongoWaiters = properties.getShedding().getMaxMongoWaiters();
+        this.mongoPoolWaiters = mongoPoolWaiters;
+    }
+
+    /**
+     * The first configured route matching the request, or the default one shared by all the others.
+     */
+    public RouteLimiter route(String method, String path) {
+        for (RouteLimiter route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return defaultRoute;
+    }
+
+    /**
+     * When the result is {@link Admission#ADMITTED} the caller must {@link RouteLimiter#release() release} the route
+     * once the request is answered.
+     *
+     * @param requestStart the {@value REQUEST_START_HEADER} header, may be null
+     */
+    public Admission admit(RouteLimiter route, String client, String requestStart) {
+        var admission = decide(route, client, requestStart);
+        route.record(admission);
+        return admission;
+    }
+
+    private Admission decide(RouteLimiter route, String client, String requestStart) {
+        if (route.isSheddable()) {
+            if (maxQueueTimeMillis > 0 && queueTimeMillis(requestStart, System.currentTimeMillis()) > maxQueueTimeMillis) {
+                return Admission.SHED_QUEUE_TIME;
+            }
+            if (maxMongoWaiters > 0 && mongoPoolWaiters.get() > maxMongoWaiters) {
+                return Admission.SHED_MONGO_POOL;
+            }
+        }
+        if (!route.tryTake(client, System.nanoTime())) {
+            return Admission.RATE_LIMITED;
+        }
+        return route.tryAcquire() ? Admission.ADMITTED : Admission.CONCURRENCY_LIMITED;
+    }
+
+    /**
+     * Time since the router received the request, from the epoch milliseconds Heroku sends or the
+     * {@code t=<seconds>.<fraction>} nginx sends; -1 when unknown.
+     */
+    public static long queueTimeMillis(String requestStart, long nowMillis) {
+        if (requestStart == null || requestStart.isEmpty()) {
+            return -1;
+        }
+        try {
+            var value = requestStart.startsWith("t=") ? requestStart.substring(2) : requestStart;
+            var startMillis = value.indexOf('.') >= 0
+                    ? (long) (Double.parseDouble(value) * TimeUnit.SECONDS.toMillis(1))
+                    : Long.parseLong(value);
+            return startMillis > 0 ? Math.max(nowMillis - startMillis, 0) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String routeName(AdmissionControlProperties.Route route) {
+        if (route.getPath() == null || !route.getPath().startsWith("/")) {
+            throw new IllegalArgumentException("admission route path must start with /: " + route.getPath());
+        }
+        return route.getMethod() == null ? route.getPath() : route.getMethod().toUpperCase() + " " + route.getPath();
+    }
+}
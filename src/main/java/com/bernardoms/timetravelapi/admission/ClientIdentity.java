@@ -0,0 +1,56 @@
+package com.bernardoms.timetravelapi.admission;
+
+import com.bernardoms.timetravelapi.config.AdmissionControlProperties;
+
+import java.util.function.Function;
+
+/**
+ * Tells which client sent a request from what the deployment vouches for, since anything else a caller can forge to
+ * get a fresh rate limit: the client header only when configured, X-Forwarded-For only as far as the configured
+ * proxies wrote it, else the peer address.
+ */
+public class ClientIdentity {
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    public static final int MAX_CLIENT_LENGTH = 128;
+
+    private final String clientHeader;
+    private final int trustedProxies;
+
+    public ClientIdentity(AdmissionControlProperties properties) {
+        this.clientHeader = properties.getClientHeader();
+        this.trustedProxies = properties.getTrustedProxies();
+    }
+
+    /**
+     * @param headers reads the first value of a request header, null when absent
+     */
+    public String of(Function<String, String> headers, String remoteAddress) {
+        var clientId = clientHeader == null ? null : headers.apply(clientHeader);
+        if (clientId != null && !clientId.isEmpty() && clientId.length() <= MAX_CLIENT_LENGTH) {
+            return clientId;
+        }
+        var forwardedFor = trustedProxies > 0 ? headers.apply(FORWARDED_FOR_HEADER) : null;
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            var forwarded = forwardedAddress(forwardedFor);
+            if (!forwarded.isEmpty() && forwarded.length() <= MAX_CLIENT_LENGTH) {
+                return forwarded;
+            }
+        }
+        return remoteAddress == null ? "unknown" : remoteAddress;
+    }
+
+    /**
+     * The address the outermost trusted proxy saw, {@code trustedProxies} entries from the right; the entries left of
+     * it were sent by the client. With fewer entries, every one was written by a trusted proxy and the first is used.
+     */
+    private String forwardedAddress(String forwardedFor) {
+        var end = forwardedFor.length();
+        for (int hop = 1; ; hop++) {
+            var comma = forwardedFor.lastIndexOf(',', end - 1);
+            if (hop == trustedProxies || comma < 0) {
+                return forwardedFor.substring(comma + 1, end).trim();
+            }
+            end = comma;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bernardoms.timetravelapi.admission;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the check outs the Mongo pools have started and not yet answered, that is the requests waiting for a
+ * connection, as {@code mongodb.driver.pool.waiting}. The 4.0 driver never reports its wait queue to listeners, so
+ * Micrometer's own wait queue gauge stays at zero.
+ */
+@Component
+public class MongoPoolWaiters implements ConnectionPoolListener, MeterBinder {
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public int get() {
+        return waiting.get();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mongodb.driver.pool.waiting", waiting, AtomicInteger::get)
+                .description("Requests waiting for a connection from the Mongo pools")
+                .register(registry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bernardoms.timetravelapi.admission;
+
+import com.bernardoms.timetravelapi.config.AdmissionControlProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The limits of one route: a token bucket for each client and a count of the requests in progress.
+ */
+public class RouteLimiter {
+    private final String name;
+    private final String method;
+    private final String[] segments;
+    private final long intervalNanos;
+    private final int burst;
+    private final int maxConcurrent;
+    private final boolean sheddable;
+    private final Cache<String, TokenBucket> buckets;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Admission, Counter> decisions = new EnumMap<>(Admission.class);
+
+    RouteLimiter(String name, String method, String path, AdmissionControlProperties.Limit limit,
+                 long maxClients, Duration clientIdleTime, MeterRegistry meterRegistry) {
+        if (limit.getRate() < 0 || limit.getBurst() < 1 || limit.getMaxConcurrent() < 0) {
+            throw new IllegalArgumentException("invalid admission limits for " + name);
+        }
+        this.name = name;
+        this.method = method;
+        this.segments = path == null ? null : path.split("/", -1);
+        this.intervalNanos = limit.getRate() == 0 ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRate());
+        this.burst = limit.getBurst();
+        this.maxConcurrent = limit.getMaxConcurrent();
+        this.sheddable = limit.isSheddable();
+        this.buckets = intervalNanos == 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(clientIdleTime)
+                .build();
+        for (Admission admission : Admission.values()) {
+            decisions.put(admission, Counter.builder("http.server.admission")
+                    .description("Requests admitted or refused by admission control")
+                    .tag("route", name)
+                    .tag("outcome", admission.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isSheddable() {
+        return sheddable;
+    }
+
+    /**
+     * Whether the route covers the request; a {@code {...}} segment of the route matches any single segment.
+     */
+    boolean matches(String requestMethod, String path) {
+        if (method != null && !method.equalsIgnoreCase(requestMethod)) {
+            return false;
+        }
+        var start = 0;
+        for (int i = 0; i < segments.length; i++) {
+            var end = path.indexOf('/', start);
+            if (end < 0) {
+                if (i != segments.length - 1) {
+                    return false;
+                }
+                end = path.length();
+            } else if (i == segments.length - 1) {
+                return false;
+            }
+            var segment = segments[i];
+            var wildcard = segment.startsWith("{") && segment.endsWith("}");
+            if (wildcard ? end == start
+                    : end - start != segment.length() || !path.regionMatches(start, segment, 0, segment.length())) {
+                return false;
+            }
+            start = end + 1;
+        }
+        return true;
+    }
+
+    boolean tryTake(String client, long nowNanos) {
+        return intervalNanos == 0 || buckets.get(client, key -> new TokenBucket()).tryTake(nowNanos, intervalNanos, burst);
+    }
+
+    boolean tryAcquire() {
+        if (maxConcurrent == 0) {
+            return true;
+        }
+        while (true) {
+            var current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back the slot of an admitted request once it is answered.
+     */
+    public void release() {
+        if (maxConcurrent != 0) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    void record(Admission admission) {
+        decisions.get(admission).increment();
+    }
+}
@@ -0,0 +1,27 @@
+package com.bernardoms.timetravelapi.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as the single timestamp of the generic cell rate algorithm, so taking a token is one CAS.
+ */
+public class TokenBucket {
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param intervalNanos time for one token to come back
+     * @param burst         tokens the bucket holds
+     */
+    public boolean tryTake(long nowNanos, long intervalNanos, int burst) {
+        while (true) {
+            var arrival = theoreticalArrival.get();
+            var next = Math.max(arrival, nowNanos) + intervalNanos;
+            if (next - nowNanos > intervalNanos * burst) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+}
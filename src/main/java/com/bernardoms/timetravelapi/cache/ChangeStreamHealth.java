@@ -0,0 +1,59 @@
+package com.bernardoms.timetravelapi.cache;
+
+import org.bson.BsonValue;
+import org.springframework.boot.actuate.health.Health;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What a travel change stream last did: the resume token of the last event, so a resubscription picks up after it
+ * instead of from now, and the failures since, for the backoff and the health endpoint.
+ */
+public final class ChangeStreamHealth {
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile BsonValue resumeToken;
+    private volatile Throwable failure;
+
+    public void received(BsonValue resumeToken) {
+        this.resumeToken = resumeToken;
+        this.failure = null;
+        failures.set(0);
+    }
+
+    /**
+     * Records a failure and returns how long to wait before resubscribing.
+     */
+    public Duration failed(Throwable failure) {
+        this.failure = failure;
+        var attempt = Math.min(failures.incrementAndGet(), 7);
+        var backoff = MIN_BACKOFF.multipliedBy(1L << (attempt - 1));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+
+    /**
+     * The stream is listening again; failures still count towards the backoff until it delivers an event.
+     */
+    public void resubscribed() {
+        this.failure = null;
+    }
+
+    public BsonValue resumeToken() {
+        return resumeToken;
+    }
+
+    public Health health() {
+        var current = failure;
+        if (current == null) {
+            return Health.up().withDetail("resumable", resumeToken != null).build();
+        }
+        return Health.down()
+                .withDetail("error", String.valueOf(current.getMessage()))
+                .withDetail("failures", failures.get())
+                .withDetail("resumable", resumeToken != null)
+                .build();
+    }
+}
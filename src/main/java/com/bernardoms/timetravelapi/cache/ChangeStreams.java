@@ -0,0 +1,52 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.model.TravelDeletion;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Both buses watch the database rather than the travels collection, so that they also see the {@link TravelDeletion}
+ * markers giving the pair of a deleted travel.
+ */
+final class ChangeStreams {
+    private ChangeStreams() {
+    }
+
+    static Aggregation travelChanges(String travelCollection) {
+        return Aggregation.newAggregation(Aggregation.match(new Criteria().orOperator(
+                Criteria.where("ns.coll").is(travelCollection).and("operationType").in("insert", "delete"),
+                Criteria.where("ns.coll").is(TravelDeletion.COLLECTION).and("operationType").is("insert"))));
+    }
+
+    /**
+     * @return the marker to publish for a delete made by this instance, null when it does not know the pair
+     */
+    static TravelDeletion deletion(TravelInvalidation invalidation) {
+        if (invalidation.getType() != TravelInvalidation.Type.DELETED || invalidation.getPgi() == null) {
+            return null;
+        }
+        return TravelDeletion.builder()
+                .travelId(invalidation.getTravelId())
+                .pgi(invalidation.getPgi())
+                .date(invalidation.getDate())
+                .deletedAt(Instant.now())
+                .build();
+    }
+
+    static TravelInvalidation toInvalidation(ChangeStreamDocument<Document> event) {
+        if (TravelDeletion.COLLECTION.equals(event.getNamespace().getCollectionName())) {
+            var deletion = event.getFullDocument();
+            return TravelInvalidation.deleted(deletion.getObjectId("_id"), deletion.getString("p"),
+                    LocalDate.ofEpochDay(deletion.getInteger("d")));
+        }
+        var travelId = event.getDocumentKey().getObjectId("_id").getValue();
+        return "delete".equals(event.getOperationType().getValue())
+                ? TravelInvalidation.deleted(travelId)
+                : TravelInvalidation.created(travelId);
+    }
+}
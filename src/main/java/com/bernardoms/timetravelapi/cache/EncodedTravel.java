@@ -0,0 +1,13 @@
+package com.bernardoms.timetravelapi.cache;
+
+import lombok.Value;
+
+/**
+ * A travel response ready to be written: its ETag, its JSON and, when smaller, the gzipped JSON.
+ */
+@Value
+public class EncodedTravel {
+    String eTag;
+    byte[] json;
+    byte[] gzip;
+}
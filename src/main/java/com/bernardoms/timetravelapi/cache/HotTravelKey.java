@@ -0,0 +1,12 @@
+package com.bernardoms.timetravelapi.cache;
+
+import lombok.Value;
+
+@Value
+public class HotTravelKey {
+    String travelId;
+    /**
+     * Lookups of the id since the last decay, extrapolated from the samples; may be overestimated.
+     */
+    long estimatedLookups;
+}
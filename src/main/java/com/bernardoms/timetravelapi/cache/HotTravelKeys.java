@@ -0,0 +1,98 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.config.HotKeysProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Approximate top-N of the most looked up travel ids, kept with the Space-Saving algorithm over a sample of the
+ * lookups. The share of lookups going to the top ids tells how large the travel cache needs to be.
+ */
+@Component
+public class HotTravelKeys implements MeterBinder {
+    private static final int TOP = 10;
+
+    private final int capacity;
+    private final int sampleRate;
+    private final long decayEvery;
+    private final Map<ObjectId, long[]> counts;
+    private long samples;
+
+    public HotTravelKeys(HotKeysProperties properties) {
+        this.capacity = properties.getCapacity();
+        this.sampleRate = properties.getSampleRate();
+        this.decayEvery = properties.getDecayEvery();
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    public void record(ObjectId travelId) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        synchronized (this) {
+            var count = counts.get(travelId);
+            if (count != null) {
+                count[0]++;
+            } else if (counts.size() < capacity) {
+                counts.put(travelId, new long[]{1});
+            } else {
+                var min = counts.entrySet().stream().min(Comparator.comparingLong(e -> e.getValue()[0])).orElseThrow();
+                counts.remove(min.getKey());
+                counts.put(travelId, new long[]{min.getValue()[0] + 1});
+            }
+            if (++samples >= decayEvery) {
+                decay();
+            }
+        }
+    }
+
+    public synchronized List<HotTravelKey> top(int limit) {
+        return counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<ObjectId, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(limit)
+                .map(e -> new HotTravelKey(e.getKey().toHexString(), e.getValue()[0] * sampleRate))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fraction of the sampled lookups that went to the {@code limit} hottest ids.
+     */
+    public synchronized double share(int limit) {
+        if (samples == 0) {
+            return 0;
+        }
+        var sorted = new ArrayList<Long>(counts.size());
+        counts.values().forEach(c -> sorted.add(c[0]));
+        sorted.sort(Comparator.reverseOrder());
+        var top = sorted.stream().limit(limit).mapToLong(Long::longValue).sum();
+        return Math.min(1, (double) top / samples);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.hot.keys.share", this, keys -> keys.share(TOP))
+                .tags("cache", "travel", "top", String.valueOf(TOP))
+                .description("Share of sampled lookups going to the hottest travel ids")
+                .register(registry);
+        Gauge.builder("cache.hot.keys.share", this, keys -> keys.share(capacity))
+                .tags("cache", "travel", "top", String.valueOf(capacity))
+                .description("Share of sampled lookups going to the hottest travel ids")
+                .register(registry);
+    }
+
+    private void decay() {
+        samples /= 2;
+        counts.values().removeIf(c -> (c[0] /= 2) == 0);
+    }
+}
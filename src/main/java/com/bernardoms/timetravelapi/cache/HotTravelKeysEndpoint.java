@@ -0,0 +1,21 @@
+package com.bernardoms.timetravelapi.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotTravelKeysEndpoint {
+    private final HotTravelKeys hotTravelKeys;
+
+    @ReadOperation
+    public List<HotTravelKey> hotKeys(@Nullable Integer limit) {
+        return hotTravelKeys.top(limit == null ? 20 : limit);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bernardoms.timetravelapi.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers changes to the listeners of this JVM only; enough for a single instance and for tests.
+ */
+@Component
+@ConditionalOnProperty(value = "travel.cache.invalidation-bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessTravelInvalidationBus implements TravelInvalidationBus {
+    private final List<Consumer<TravelInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TravelInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<TravelInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,137 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the travels with a change stream (replica set or sharded cluster only), so every instance sees the inserts
+ * and deletes of all of them. Writes reach the stream by themselves; {@link #publish} only adds a
+ * {@link com.bernardoms.timetravelapi.model.TravelDeletion} for a delete, whose event lacks the pair. A failed stream
+ * is resubscribed with backoff after the last event it delivered, and reported on the health endpoint until it listens
+ * again; listeners are then told that changes may have been missed.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(value = "travel.cache.invalidation-bus", havingValue = "mongo")
+@Slf4j
+public class MongoTravelInvalidationBus implements TravelInvalidationBus, SmartLifecycle, HealthIndicator {
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<Consumer<TravelInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final ChangeStreamHealth health = new ChangeStreamHealth();
+    private final MongoTemplate mongoTemplate;
+    private final MessageListenerContainer container;
+    private final ScheduledExecutorService resubscriptions = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "travel-change-stream-resubscribe");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Subscription subscription;
+
+    public MongoTravelInvalidationBus(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+        this.subscription = register();
+    }
+
+    @Override
+    public void publish(TravelInvalidation invalidation) {
+        var deletion = ChangeStreams.deletion(invalidation);
+        if (deletion == null) {
+            return;
+        }
+        try {
+            mongoTemplate.insert(deletion);
+        } catch (DataAccessException e) {
+            log.warn("deletion of travel {} not published, other instances keep refusing its pair for now",
+                    invalidation.getTravelId(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<TravelInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public Health health() {
+        return health.health();
+    }
+
+    @Override
+    public void start() {
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container.isRunning();
+    }
+
+    private Subscription register() {
+        var request = ChangeStreamRequest.builder(this::onChange)
+                .filter(ChangeStreams.travelChanges(mongoTemplate.getCollectionName(TimeTravel.class)));
+        var resumeToken = health.resumeToken();
+        if (resumeToken != null) {
+            request.resumeAfter(resumeToken);
+        }
+        return container.register(request.build(), Document.class, this::onError);
+    }
+
+    private void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        var event = message.getRaw();
+        var invalidation = ChangeStreams.toInvalidation(event);
+        listeners.forEach(listener -> listener.accept(invalidation));
+        health.received(event.getResumeToken());
+    }
+
+    private void onError(Throwable e) {
+        var backoff = health.failed(e);
+        log.error("travel change stream failed, resubscribing in {}", backoff, e);
+        resubscriptions.schedule(this::resubscribe, backoff.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void resubscribe() {
+        if (!container.isRunning()) {
+            return;
+        }
+        container.remove(subscription);
+        subscription = register();
+        try {
+            if (subscription.await(START_TIMEOUT)) {
+                health.resubscribed();
+                listeners.forEach(listener -> listener.accept(TravelInvalidation.missed()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers travel ids that are known not to exist so lookups for them can skip Mongo: ids recently found missing or
+ * deleted, and, when the bloom filter is enabled and warmed up, any id it has never seen.
+ */
+@Component
+public class NegativeTravelCache {
+    private final Cache<ObjectId, Boolean> absentIds;
+    private final TravelIdBloomFilter bloomFilter;
+    private volatile boolean bloomFilterReady;
+
+    public NegativeTravelCache(NegativeCacheProperties properties) {
+        this.absentIds = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxSize())
+                .build();
+        var bloomFilterProperties = properties.getBloomFilter();
+        this.bloomFilter = bloomFilterProperties.isEnabled()
+                ? new TravelIdBloomFilter(bloomFilterProperties.getExpectedIds(), bloomFilterProperties.getFalsePositiveRate())
+                : null;
+    }
+
+    public boolean isKnownAbsent(ObjectId travelId) {
+        if (absentIds.getIfPresent(travelId) != null) {
+            return true;
+        }
+        return bloomFilterReady && !bloomFilter.mightContain(travelId);
+    }
+
+    public void markAbsent(ObjectId travelId) {
+        absentIds.put(travelId, Boolean.TRUE);
+    }
+
+    public void markPresent(ObjectId travelId) {
+        if (bloomFilter != null) {
+            bloomFilter.put(travelId);
+        }
+        absentIds.invalidate(travelId);
+    }
+
+    public boolean isBloomFilterEnabled() {
+        return bloomFilter != null;
+    }
+
+    /**
+     * Called once every stored id went through {@link #markPresent(ObjectId)}; until then the bloom filter is not
+     * trusted to answer for absent ids.
+     */
+    public void bloomFilterWarmedUp() {
+        bloomFilterReady = bloomFilter != null;
+    }
+}
@@ -0,0 +1,264 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link TravelCacheStore} in direct memory, so its size does not add to the heap or to GC work.
+ * <p>
+ * Entries live in fixed-size slots of a few segments, each a direct buffer guarded by its own lock and indexed by
+ * linear probing on the 12 id bytes. A full segment evicts with the CLOCK algorithm: a read sets the slot's
+ * referenced bit, which gives the entry a second chance. Travels whose encoded form does not fit a slot are not stored.
+ */
+public class OffHeapTravelCacheStore implements TravelCacheStore {
+    private static final double LOAD_FACTOR = 0.75;
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+    private static final byte REFERENCED = 2;
+    private static final int KEY_OFFSET = 1;
+    private static final int LENGTH_OFFSET = KEY_OFFSET + 12;
+    private static final int VALUE_OFFSET = LENGTH_OFFSET + Short.BYTES;
+
+    private final Segment[] segments;
+    private final int slotSize;
+
+    public OffHeapTravelCacheStore(long maxEntries, int slotSize, int segmentCount) {
+        if (slotSize <= VALUE_OFFSET || slotSize > VALUE_OFFSET + Short.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid slot size " + slotSize);
+        }
+        this.slotSize = slotSize;
+        this.segments = new Segment[segmentCount];
+        var entriesPerSegment = Math.max(1, (int) Math.ceil((double) maxEntries / segmentCount));
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(entriesPerSegment, slotSize);
+        }
+    }
+
+    @Override
+    public TimeTravelDTO get(ObjectId travelId) {
+        var key = Key.of(travelId);
+        return segmentFor(key).get(key);
+    }
+
+    @Override
+    public boolean put(ObjectId travelId, TimeTravelDTO travel) {
+        var key = Key.of(travelId);
+        var segment = segmentFor(key);
+        var value = TimeTravelDTOCodec.encode(travel);
+        if (value.length > slotSize - VALUE_OFFSET) {
+            segment.remove(key);
+            return false;
+        }
+        segment.put(key, value);
+        return true;
+    }
+
+    @Override
+    public void evict(ObjectId travelId) {
+        var key = Key.of(travelId);
+        segmentFor(key).remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public long size() {
+        var size = 0L;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Direct memory reserved by the slots.
+     */
+    public long capacityBytes() {
+        var bytes = 0L;
+        for (Segment segment : segments) {
+            bytes += (long) segment.slots * slotSize;
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(Key key) {
+        return segments[(int) Math.floorMod(key.hash >>> 32, (long) segments.length)];
+    }
+
+    private static final class Key {
+        private final long high;
+        private final int low;
+        private final long hash;
+
+        private Key(long high, int low) {
+            this.high = high;
+            this.low = low;
+            this.hash = mix(high ^ mix(low));
+        }
+
+        static Key of(ObjectId id) {
+            var bytes = id.toByteArray();
+            long high = 0;
+            for (int i = 0; i < 8; i++) {
+                high = high << 8 | (bytes[i] & 0xFF);
+            }
+            int low = 0;
+            for (int i = 8; i < 12; i++) {
+                low = low << 8 | (bytes[i] & 0xFF);
+            }
+            return new Key(high, low);
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+    private static final class Segment {
+        private final ByteBuffer buffer;
+        private final int slots;
+        private final int slotSize;
+        private final int maxEntries;
+        private int size;
+        private int clockHand;
+
+        Segment(int maxEntries, int slotSize) {
+            this.maxEntries = maxEntries;
+            this.slotSize = slotSize;
+            this.slots = (int) Math.ceil(maxEntries / LOAD_FACTOR) + 1;
+            this.buffer = ByteBuffer.allocateDirect(Math.multiplyExact(slots, slotSize));
+        }
+
+        synchronized TimeTravelDTO get(Key key) {
+            var slot = find(key);
+            if (slot < 0) {
+                return null;
+            }
+            var base = slot * slotSize;
+            buffer.put(base, (byte) (USED | REFERENCED));
+            return TimeTravelDTOCodec.decode(buffer, base + VALUE_OFFSET);
+        }
+
+        synchronized void put(Key key, byte[] value) {
+            var slot = find(key);
+            if (slot < 0) {
+                if (size >= maxEntries) {
+                    evictOne();
+                }
+                slot = home(key.hash);
+                while (buffer.get(slot * slotSize) != EMPTY) {
+                    slot = next(slot);
+                }
+                buffer.put(slot * slotSize, USED);
+                size++;
+            }
+            var base = slot * slotSize;
+            buffer.putLong(base + KEY_OFFSET, key.high);
+            buffer.putInt(base + KEY_OFFSET + Long.BYTES, key.low);
+            buffer.putShort(base + LENGTH_OFFSET, (short) value.length);
+            for (int i = 0; i < value.length; i++) {
+                buffer.put(base + VALUE_OFFSET + i, value[i]);
+            }
+        }
+
+        synchronized void remove(Key key) {
+            var slot = find(key);
+            if (slot >= 0) {
+                delete(slot);
+            }
+        }
+
+        synchronized void clear() {
+            for (int slot = 0; slot < slots; slot++) {
+                buffer.put(slot * slotSize, EMPTY);
+            }
+            size = 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int find(Key key) {
+            var slot = home(key.hash);
+            while (true) {
+                var base = slot * slotSize;
+                if (buffer.get(base) == EMPTY) {
+                    return -1;
+                }
+                if (buffer.getLong(base + KEY_OFFSET) == key.high && buffer.getInt(base + KEY_OFFSET + Long.BYTES) == key.low) {
+                    return slot;
+                }
+                slot = next(slot);
+            }
+        }
+
+        private void evictOne() {
+            while (true) {
+                var base = clockHand * slotSize;
+                var state = buffer.get(base);
+                if (state == (USED | REFERENCED)) {
+                    buffer.put(base, USED);
+                } else if (state == USED) {
+                    delete(clockHand);
+                    return;
+                }
+                clockHand = next(clockHand);
+            }
+        }
+
+        /**
+         * Empties a slot and shifts back the entries probed past it, so lookups never stop at a hole.
+         */
+        private void delete(int slot) {
+            size--;
+            var hole = slot;
+            var current = slot;
+            while (true) {
+                current = next(current);
+                var base = current * slotSize;
+                if (buffer.get(base) == EMPTY) {
+                    break;
+                }
+                var home = home(new Key(buffer.getLong(base + KEY_OFFSET), buffer.getInt(base + KEY_OFFSET + Long.BYTES)).hash);
+                var movable = hole <= current
+                        ? home <= hole || home > current
+                        : home <= hole && home > current;
+                if (movable) {
+                    copy(current, hole);
+                    hole = current;
+                }
+            }
+            buffer.put(hole * slotSize, EMPTY);
+        }
+
+        private void copy(int from, int to) {
+            var fromBase = from * slotSize;
+            var toBase = to * slotSize;
+            var length = VALUE_OFFSET + (buffer.getShort(fromBase + LENGTH_OFFSET) & 0xFFFF);
+            for (int i = 0; i < length; i++) {
+                buffer.put(toBase + i, buffer.get(fromBase + i));
+            }
+        }
+
+        private int home(long hash) {
+            return (int) Math.floorMod(hash, (long) slots);
+        }
+
+        private int next(int slot) {
+            return slot + 1 == slots ? 0 : slot + 1;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Bounded index of (pgi, date) pairs known to be taken, so that a paradox can be refused without a round trip to Mongo.
+ * <p>
+ * Keys are primitives: the pgi packed 6 bits per character into a long and the date as its epoch day, in two
+ * open-addressing arrays (12 bytes per slot). Once full, the entry under a rotating hand makes room for the new one.
+ * The index misses pairs it was never told about, so the unique (pgi, date) index stays the source of truth; saves
+ * not refused here still rely on it. A hit is trusted as is, so the index is emptied whenever deletes may have gone
+ * unseen.
+ */
+@Component
+public class ParadoxIndex implements MeterBinder {
+    private static final double LOAD_FACTOR = 0.75;
+    private static final long EMPTY = 0;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long[] pgis;
+    private final int[] days;
+    private int size;
+    private int hand;
+
+    public ParadoxIndex(ParadoxIndexProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.maxEntries = enabled ? properties.getMaxEntries() : 0;
+        var slots = enabled ? (int) Math.ceil(maxEntries / LOAD_FACTOR) + 1 : 0;
+        this.pgis = new long[slots];
+        this.days = new int[slots];
+    }
+
+    public boolean contains(String pgi, LocalDate date) {
+        var code = encode(pgi);
+        if (!enabled || code == EMPTY || !indexable(date)) {
+            return false;
+        }
+        synchronized (this) {
+            return find(code, (int) date.toEpochDay()) >= 0;
+        }
+    }
+
+    public void add(String pgi, LocalDate date) {
+        var code = encode(pgi);
+        if (!enabled || code == EMPTY || !indexable(date)) {
+            return;
+        }
+        var day = (int) date.toEpochDay();
+        synchronized (this) {
+            if (find(code, day) >= 0) {
+                return;
+            }
+            if (size >= maxEntries) {
+                evictOne();
+            }
+            var slot = home(code, day);
+            while (pgis[slot] != EMPTY) {
+                slot = next(slot);
+            }
+            pgis[slot] = code;
+            days[slot] = day;
+            size++;
+        }
+    }
+
+    public void remove(String pgi, LocalDate date) {
+        var code = encode(pgi);
+        if (!enabled || code == EMPTY || !indexable(date)) {
+            return;
+        }
+        synchronized (this) {
+            var slot = find(code, (int) date.toEpochDay());
+            if (slot >= 0) {
+                delete(slot);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(pgis, EMPTY);
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Heap taken by the key arrays, excluding the two array headers.
+     */
+    public long memoryBytes() {
+        return (long) pgis.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("travel.paradox.index.size", this, ParadoxIndex::size)
+                .description("(pgi, date) pairs known to be taken")
+                .register(registry);
+        Gauge.builder("travel.paradox.index.memory", this, ParadoxIndex::memoryBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Packs a pgi of up to 10 letters and digits into 60 bits, 6 per character and never 0 per character, so
+     * distinct pgis get distinct codes.
+     *
+     * @return 0 when the pgi does not fit
+     */
+    static long encode(String pgi) {
+        if (pgi == null || pgi.isEmpty() || pgi.length() > 10) {
+            return EMPTY;
+        }
+        long code = 0;
+        for (int i = 0; i < pgi.length(); i++) {
+            var c = pgi.charAt(i);
+            int value;
+            if (c >= '0' && c <= '9') {
+                value = c - '0' + 1;
+            } else if (c >= 'A' && c <= 'Z') {
+                value = c - 'A' + 11;
+            } else if (c >= 'a' && c <= 'z') {
+                value = c - 'a' + 37;
+            } else {
+                return EMPTY;
+            }
+            code = code << 6 | value;
+        }
+        return code;
+    }
+
+    private static boolean indexable(LocalDate date) {
+        return date != null && date.toEpochDay() >= Integer.MIN_VALUE && date.toEpochDay() <= Integer.MAX_VALUE;
+    }
+
+    private int find(long code, int day) {
+        var slot = home(code, day);
+        while (pgis[slot] != EMPTY) {
+            if (pgis[slot] == code && days[slot] == day) {
+                return slot;
+            }
+            slot = next(slot);
+        }
+        return -1;
+    }
+
+    private void evictOne() {
+        while (pgis[hand] == EMPTY) {
+            hand = next(hand);
+        }
+        delete(hand);
+    }
+
+    /**
+     * Empties a slot and shifts back the entries probed past it, so lookups never stop at a hole.
+     */
+    private void delete(int slot) {
+        size--;
+        var hole = slot;
+        var current = slot;
+        while (true) {
+            current = next(current);
+            if (pgis[current] == EMPTY) {
+                break;
+            }
+            var home = home(pgis[current], days[current]);
+            var movable = hole <= current
+                    ? home <= hole || home > current
+                    : home <= hole && home > current;
+            if (movable) {
+                pgis[hole] = pgis[current];
+                days[hole] = days[current];
+                hole = current;
+            }
+        }
+        pgis[hole] = EMPTY;
+    }
+
+    private int home(long code, int day) {
+        var h = code * 0x9E3779B97F4A7C15L + day;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) pgis.length);
+    }
+
+    private int next(int slot) {
+        return slot + 1 == pgis.length ? 0 : slot + 1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.repository.TimeTravelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "travel.paradox-index", name = {"enabled", "warm-up"}, havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ParadoxIndexWarmUp {
+    private final TimeTravelRepository timeTravelRepository;
+    private final ParadoxIndex paradoxIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try (var travels = timeTravelRepository.streamRecentKeys(paradoxIndex.getMaxEntries())) {
+            travels.forEach(t -> paradoxIndex.add(t.getPgi(), t.getDate()));
+        } catch (RuntimeException e) {
+            log.error("paradox index warm up failed, it fills up with new saves only", e);
+            return;
+        }
+        log.info("paradox index warmed up with {} travels", paradoxIndex.size());
+    }
+}
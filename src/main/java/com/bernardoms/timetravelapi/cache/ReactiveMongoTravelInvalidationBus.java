@@ -0,0 +1,102 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Reactive counterpart of {@link MongoTravelInvalidationBus}; the stream is resubscribed with backoff when it fails,
+ * after the last event it delivered, and listeners are told that changes may have been missed.
+ */
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(value = "travel.cache.invalidation-bus", havingValue = "mongo")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveMongoTravelInvalidationBus implements TravelInvalidationBus, SmartLifecycle, HealthIndicator {
+    private final List<Consumer<TravelInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final ChangeStreamHealth health = new ChangeStreamHealth();
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private volatile Disposable subscription;
+
+    @Override
+    public void publish(TravelInvalidation invalidation) {
+        var deletion = ChangeStreams.deletion(invalidation);
+        if (deletion == null) {
+            return;
+        }
+        reactiveMongoTemplate.insert(deletion).subscribe(d -> {
+        }, e -> log.warn("deletion of travel {} not published, other instances keep refusing its pair for now",
+                invalidation.getTravelId(), e));
+    }
+
+    @Override
+    public void subscribe(Consumer<TravelInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public Health health() {
+        return health.health();
+    }
+
+    @Override
+    public void start() {
+        subscription = Flux.defer(this::changeStream)
+                .doOnError(e -> {
+                    health.failed(e);
+                    log.error("travel change stream failed, resubscribing", e);
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                        .doAfterRetry(signal -> {
+                            health.resubscribed();
+                            listeners.forEach(listener -> listener.accept(TravelInvalidation.missed()));
+                        }))
+                .subscribe(event -> {
+                    var invalidation = ChangeStreams.toInvalidation(event.getRaw());
+                    listeners.forEach(listener -> listener.accept(invalidation));
+                    health.received(event.getResumeToken());
+                });
+    }
+
+    @Override
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+
+    private Flux<ChangeStreamEvent<Document>> changeStream() {
+        var options = ChangeStreamOptions.builder()
+                .filter(ChangeStreams.travelChanges(reactiveMongoTemplate.getCollectionName(TimeTravel.class)));
+        var resumeToken = health.resumeToken();
+        if (resumeToken != null) {
+            options.resumeAfter(resumeToken);
+        }
+        return reactiveMongoTemplate.changeStream(options.build(), Document.class);
+    }
+}
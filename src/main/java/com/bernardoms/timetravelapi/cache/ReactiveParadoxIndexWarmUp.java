@@ -0,0 +1,30 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.repository.ReactiveTimeTravelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(prefix = "travel.paradox-index", name = {"enabled", "warm-up"}, havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveParadoxIndexWarmUp {
+    private final ReactiveTimeTravelRepository reactiveTimeTravelRepository;
+    private final ParadoxIndex paradoxIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reactiveTimeTravelRepository.streamRecentKeys(paradoxIndex.getMaxEntries())
+                .doOnNext(t -> paradoxIndex.add(t.getPgi(), t.getDate()))
+                .then()
+                .subscribe(v -> {
+                }, e -> log.error("paradox index warm up failed, it fills up with new saves only", e),
+                        () -> log.info("paradox index warmed up with {} travels", paradoxIndex.size()));
+    }
+}
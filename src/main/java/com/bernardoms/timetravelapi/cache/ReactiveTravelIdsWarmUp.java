@@ -0,0 +1,31 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.repository.ReactiveTimeTravelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("reactive")
+@ConditionalOnProperty(value = "travel.negative-cache.bloom-filter.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveTravelIdsWarmUp {
+    private final ReactiveTimeTravelRepository reactiveTimeTravelRepository;
+    private final NegativeTravelCache negativeTravelCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reactiveTimeTravelRepository.streamIds()
+                .doOnNext(negativeTravelCache::markPresent)
+                .count()
+                .subscribe(count -> {
+                    negativeTravelCache.bloomFilterWarmedUp();
+                    log.info("travel id bloom filter warmed up with {} ids", count);
+                }, e -> log.error("travel id bloom filter warm up failed, it stays disabled", e));
+    }
+}
@@ -0,0 +1,77 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Binary form of a {@link TimeTravelDTO} for the off-heap tier: pgi and place as length-prefixed UTF-8 and the date as
+ * its epoch day, 11 bytes plus the text for a typical travel.
+ */
+public final class TimeTravelDTOCodec {
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+
+    private TimeTravelDTOCodec() {
+    }
+
+    public static byte[] encode(TimeTravelDTO travel) {
+        var pgi = bytes(travel.getPgi());
+        var place = bytes(travel.getPlace());
+        var buffer = ByteBuffer.allocate(Short.BYTES + length(pgi) + Short.BYTES + length(place) + Integer.BYTES);
+        putString(buffer, pgi);
+        putString(buffer, place);
+        buffer.putInt(travel.getDate() == null ? NULL_DATE : Math.toIntExact(travel.getDate().toEpochDay()));
+        return buffer.array();
+    }
+
+    /**
+     * Reads a travel written at {@code offset} with absolute gets, leaving the buffer position alone.
+     */
+    public static TimeTravelDTO decode(ByteBuffer buffer, int offset) {
+        var pgiLength = buffer.getShort(offset) & 0xFFFF;
+        var pgi = getString(buffer, offset + Short.BYTES, pgiLength);
+        var placeOffset = offset + Short.BYTES + (pgiLength == NULL_LENGTH ? 0 : pgiLength);
+        var placeLength = buffer.getShort(placeOffset) & 0xFFFF;
+        var place = getString(buffer, placeOffset + Short.BYTES, placeLength);
+        var epochDay = buffer.getInt(placeOffset + Short.BYTES + (placeLength == NULL_LENGTH ? 0 : placeLength));
+        return new TimeTravelDTO(pgi, place, epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay));
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("value too long to encode");
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) NULL_LENGTH);
+        } else {
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer, int offset, int length) {
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        var bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
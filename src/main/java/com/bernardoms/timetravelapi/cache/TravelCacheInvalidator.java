@@ -0,0 +1,50 @@
+package com.bernardoms.timetravelapi.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Applies the changes seen on the {@link TravelInvalidationBus} to this instance's caches.
+ */
+@Component
+@RequiredArgsConstructor
+public class TravelCacheInvalidator {
+    private static final String TRAVEL_CACHE = "travel";
+
+    private final TravelInvalidationBus travelInvalidationBus;
+    private final CacheManager cacheManager;
+    private final NegativeTravelCache negativeTravelCache;
+    private final ParadoxIndex paradoxIndex;
+
+    @PostConstruct
+    public void subscribe() {
+        travelInvalidationBus.subscribe(this::apply);
+    }
+
+    public void apply(TravelInvalidation invalidation) {
+        var cache = cacheManager.getCache(TRAVEL_CACHE);
+        if (invalidation.getType() == TravelInvalidation.Type.MISSED) {
+            if (cache != null) {
+                cache.clear();
+            }
+            paradoxIndex.clear();
+        } else if (invalidation.getType() == TravelInvalidation.Type.DELETED) {
+            if (cache != null) {
+                cache.evict(invalidation.getTravelId());
+            }
+            negativeTravelCache.markAbsent(invalidation.getTravelId());
+            // a delete seen without its pair is followed by the travel_deletions marker carrying it
+            if (invalidation.getPgi() != null) {
+                paradoxIndex.remove(invalidation.getPgi(), invalidation.getDate());
+            }
+        } else {
+            negativeTravelCache.markPresent(invalidation.getTravelId());
+            if (invalidation.getPgi() != null) {
+                paradoxIndex.add(invalidation.getPgi(), invalidation.getDate());
+            }
+        }
+    }
+}
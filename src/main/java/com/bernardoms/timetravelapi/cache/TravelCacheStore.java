@@ -0,0 +1,22 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import org.bson.types.ObjectId;
+
+/**
+ * Second, larger tier of the travel cache, kept off the Java heap.
+ */
+public interface TravelCacheStore {
+    TimeTravelDTO get(ObjectId travelId);
+
+    /**
+     * @return false when the travel could not be stored, e.g. because it is too large for the store
+     */
+    boolean put(ObjectId travelId, TimeTravelDTO travel);
+
+    void evict(ObjectId travelId);
+
+    void clear();
+
+    long size();
+}
@@ -0,0 +1,82 @@
+package com.bernardoms.timetravelapi.cache;
+
+import org.bson.types.ObjectId;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bloom filter of travel ids; bits are only ever set, so concurrent puts and reads are safe.
+ */
+final class TravelIdBloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    TravelIdBloomFilter(long expectedIds, double falsePositiveRate) {
+        var optimalBits = (long) Math.ceil(-expectedIds * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedIds * Math.log(2)));
+    }
+
+    void put(ObjectId id) {
+        var bytes = id.toByteArray();
+        var hash1 = hash1(bytes);
+        var hash2 = hash2(bytes);
+        for (int i = 0; i < hashCount; i++) {
+            var bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            var index = (int) (bit >>> 6);
+            var mask = 1L << bit;
+            long current;
+            while (((current = bits.get(index)) & mask) == 0 && !bits.compareAndSet(index, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    boolean mightContain(ObjectId id) {
+        var bytes = id.toByteArray();
+        var hash1 = hash1(bytes);
+        var hash2 = hash2(bytes);
+        for (int i = 0; i < hashCount; i++) {
+            var bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash1(byte[] id) {
+        return mix(high(id) ^ mix(low(id)));
+    }
+
+    private static long hash2(byte[] id) {
+        return mix(high(id) + low(id) * 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private static long high(byte[] id) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | (id[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static long low(byte[] id) {
+        long value = 0;
+        for (int i = 8; i < 12; i++) {
+            value = value << 8 | (id[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.repository.TimeTravelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(value = "travel.negative-cache.bloom-filter.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TravelIdsWarmUp {
+    private final TimeTravelRepository timeTravelRepository;
+    private final NegativeTravelCache negativeTravelCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        var count = 0L;
+        try (var ids = timeTravelRepository.streamIds()) {
+            for (var iterator = ids.iterator(); iterator.hasNext(); count++) {
+                negativeTravelCache.markPresent(iterator.next());
+            }
+        }
+        negativeTravelCache.bloomFilterWarmedUp();
+        log.info("travel id bloom filter warmed up with {} ids", count);
+    }
+}
@@ -0,0 +1,53 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import lombok.Value;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+
+@Value
+public class TravelInvalidation {
+    public enum Type {
+        CREATED, DELETED,
+        /**
+         * Changes may have been lost, so whatever was derived from them can no longer be trusted.
+         */
+        MISSED
+    }
+
+    /**
+     * Null for {@link Type#MISSED}.
+     */
+    ObjectId travelId;
+    Type type;
+    /**
+     * The (pgi, date) pair of the travel, null when the source of the change only knows its id.
+     */
+    String pgi;
+    LocalDate date;
+
+    public static TravelInvalidation created(ObjectId travelId) {
+        return new TravelInvalidation(travelId, Type.CREATED, null, null);
+    }
+
+    public static TravelInvalidation created(TimeTravel timeTravel) {
+        return new TravelInvalidation(timeTravel.getId(), Type.CREATED, timeTravel.getPgi(), timeTravel.getDate());
+    }
+
+    public static TravelInvalidation deleted(ObjectId travelId) {
+        return new TravelInvalidation(travelId, Type.DELETED, null, null);
+    }
+
+    public static TravelInvalidation deleted(TimeTravel timeTravel) {
+        return deleted(timeTravel.getId(), timeTravel.getPgi(), timeTravel.getDate());
+    }
+
+    public static TravelInvalidation deleted(ObjectId travelId, String pgi, LocalDate date) {
+        return new TravelInvalidation(travelId, Type.DELETED, pgi, date);
+    }
+
+    public static TravelInvalidation missed() {
+        return new TravelInvalidation(null, Type.MISSED, null, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bernardoms.timetravelapi.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Spreads travel changes to every instance so their local caches stay coherent; selected with
+ * {@code travel.cache.invalidation-bus} ({@code in-process} or {@code mongo}).
+ */
+public interface TravelInvalidationBus {
+    /**
+     * Announces a change made by this instance.
+     */
+    void publish(TravelInvalidation invalidation);
+
+    /**
+     * Registers a listener for the changes made by any instance, this one included, and for
+     * {@link TravelInvalidation#missed()} whenever some of them may not have been delivered.
+     */
+    void subscribe(Consumer<TravelInvalidation> listener);
+}
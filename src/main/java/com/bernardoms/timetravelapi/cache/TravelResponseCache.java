@@ -0,0 +1,105 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.config.ResponseCacheProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the encoded response of recently read travels, so serving one again writes bytes without mapping or encoding
+ * anything. Travels deleted here or on another instance are dropped through the {@link TravelInvalidationBus}, and
+ * remembered for a while so that a read which found the travel just before its delete cannot put it back.
+ */
+@Component
+public class TravelResponseCache {
+    private static final Duration DELETED_ID_TTL = Duration.ofMinutes(1);
+
+    private final boolean enabled;
+    private final boolean gzip;
+    private final ObjectMapper objectMapper;
+    private final TravelInvalidationBus travelInvalidationBus;
+    private final Cache<ObjectId, EncodedTravel> responses;
+    private final Cache<ObjectId, Boolean> deletedIds;
+
+    public TravelResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper, TravelInvalidationBus travelInvalidationBus) {
+        this.enabled = properties.isEnabled();
+        this.gzip = properties.isGzip();
+        this.objectMapper = objectMapper;
+        this.travelInvalidationBus = travelInvalidationBus;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(enabled ? properties.getMaxEntries() : 0)
+                .build();
+        this.deletedIds = Caffeine.newBuilder()
+                .expireAfterWrite(DELETED_ID_TTL)
+                .maximumSize(enabled ? properties.getMaxEntries() : 0)
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (enabled) {
+            travelInvalidationBus.subscribe(invalidation -> {
+                if (invalidation.getType() == TravelInvalidation.Type.DELETED) {
+                    evict(invalidation.getTravelId());
+                } else if (invalidation.getType() == TravelInvalidation.Type.MISSED) {
+                    responses.invalidateAll();
+                }
+            });
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public EncodedTravel get(ObjectId travelId) {
+        return responses.getIfPresent(travelId);
+    }
+
+    public EncodedTravel put(ObjectId travelId, String eTag, TimeTravelDTO timeTravelDTO) {
+        var encoded = encode(eTag, timeTravelDTO);
+        responses.put(travelId, encoded);
+        if (deletedIds.getIfPresent(travelId) != null) {
+            responses.invalidate(travelId);
+        }
+        return encoded;
+    }
+
+    public void evict(ObjectId travelId) {
+        deletedIds.put(travelId, Boolean.TRUE);
+        responses.invalidate(travelId);
+    }
+
+    private EncodedTravel encode(String eTag, TimeTravelDTO timeTravelDTO) {
+        try {
+            var json = objectMapper.writeValueAsBytes(timeTravelDTO);
+            return new EncodedTravel(eTag, json, gzip ? smallerGzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("travel could not be encoded", e);
+        }
+    }
+
+    /**
+     * A body of a few dozen bytes grows when gzipped, so the gzipped copy is only kept when it saves something.
+     */
+    private static byte[] smallerGzip(byte[] json) {
+        var bytes = new ByteArrayOutputStream(json.length);
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.size() < json.length ? bytes.toByteArray() : null;
+    }
+}
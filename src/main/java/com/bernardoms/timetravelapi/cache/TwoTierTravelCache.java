@@ -0,0 +1,125 @@
+package com.bernardoms.timetravelapi.cache;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import org.bson.types.ObjectId;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Travel cache made of a small on-heap near cache in front of a large {@link TravelCacheStore}.
+ * <p>
+ * Reads missing the near cache fall through to the store and promote what they find. Writes and evictions go to
+ * both tiers; only travels keyed by id reach the store, anything else stays in the near cache.
+ */
+public class TwoTierTravelCache extends AbstractValueAdaptingCache {
+    private final Cache nearCache;
+    private final TravelCacheStore store;
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder nearMisses = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder storeMisses = new LongAdder();
+    private final LongAdder storeRejections = new LongAdder();
+
+    public TwoTierTravelCache(Cache nearCache, TravelCacheStore store) {
+        super(false);
+        this.nearCache = nearCache;
+        this.store = store;
+    }
+
+    @Override
+    public String getName() {
+        return nearCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return nearCache.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        var near = nearCache.get(key);
+        if (near != null) {
+            nearHits.increment();
+            return near.get();
+        }
+        nearMisses.increment();
+        if (!(key instanceof ObjectId)) {
+            return null;
+        }
+        var travel = store.get((ObjectId) key);
+        if (travel == null) {
+            storeMisses.increment();
+            return null;
+        }
+        storeHits.increment();
+        nearCache.put(key, travel);
+        return travel;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var cached = lookup(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        nearCache.put(key, value);
+        if (key instanceof ObjectId && value instanceof TimeTravelDTO && !store.put((ObjectId) key, (TimeTravelDTO) value)) {
+            storeRejections.increment();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        nearCache.evict(key);
+        if (key instanceof ObjectId) {
+            store.evict((ObjectId) key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        nearCache.clear();
+        store.clear();
+    }
+
+    public TravelCacheStore getStore() {
+        return store;
+    }
+
+    public long getNearHits() {
+        return nearHits.sum();
+    }
+
+    public long getNearMisses() {
+        return nearMisses.sum();
+    }
+
+    public long getStoreHits() {
+        return storeHits.sum();
+    }
+
+    public long getStoreMisses() {
+        return storeMisses.sum();
+    }
+
+    public long getStoreRejections() {
+        return storeRejections.sum();
+    }
+}
@@ -0,0 +1,86 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.admission")
+public class AdmissionControlProperties {
+    private boolean enabled = true;
+    /**
+     * Identifies the caller. Unset by default: only set it when a gateway in front of the app sets this header and
+     * drops it from incoming requests, since callers could otherwise pick their own limit bucket.
+     */
+    private String clientHeader;
+    /**
+     * Reverse proxies in front of the app that append to {@code X-Forwarded-For}; the caller is the address that many
+     * entries from the right. 0, the default, ignores the header and uses the remote address.
+     */
+    private int trustedProxies = 0;
+    /**
+     * Routes checked in order, the first whose method and path match applies; {@code {...}} matches one path segment.
+     */
+    private List<Route> routes = new ArrayList<>();
+    /**
+     * Applies to the requests no route matches, all together.
+     */
+    private Limit defaultLimit = new Limit();
+    /**
+     * Clients tracked per route; the least recently seen are forgotten first.
+     */
+    private long maxClients = 100_000;
+    private Duration clientIdleTime = Duration.ofMinutes(10);
+    private Shedding shedding = new Shedding();
+
+    @Data
+    public static class Limit {
+        /**
+         * Requests per second allowed to each client, 0 for no limit.
+         */
+        private double rate = 0;
+        /**
+         * Requests a client may send at once above its rate, at least 1.
+         */
+        private int burst = 1;
+        /**
+         * Requests of all clients served at the same time, 0 for no limit.
+         */
+        private int maxConcurrent = 0;
+        /**
+         * Whether the route is refused while the app sheds load.
+         */
+        private boolean sheddable = true;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @ToString(callSuper = true)
+    public static class Route extends Limit {
+        /**
+         * Any method when unset.
+         */
+        private String method;
+        private String path;
+    }
+
+    @Data
+    public static class Shedding {
+        /**
+         * Time spent queued before reaching the app, read from {@code X-Request-Start}, above which sheddable
+         * requests are refused; 0 turns it off.
+         */
+        private Duration maxQueueTime = Duration.ZERO;
+        /**
+         * Requests waiting for a Mongo connection above which sheddable requests are refused; 0 turns it off.
+         */
+        private int maxMongoWaiters = 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.batch")
+public class BatchProperties {
+    private int maxSize = 10000;
+    private int chunkSize = 1000;
+}
@@ -0,0 +1,23 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.hot-keys")
+public class HotKeysProperties {
+    /**
+     * Ids tracked at once; the top-N reported is at most this.
+     */
+    private int capacity = 100;
+    /**
+     * One lookup in this many is sampled.
+     */
+    private int sampleRate = 16;
+    /**
+     * Counts are halved after this many samples so old hot ids fade out.
+     */
+    private long decayEvery = 100_000;
+}
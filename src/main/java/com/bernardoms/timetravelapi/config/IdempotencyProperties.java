@@ -0,0 +1,26 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.idempotency")
+public class IdempotencyProperties {
+    /**
+     * How long a retry with the same key is answered with the travel it created.
+     */
+    private Duration ttl = Duration.ofHours(24);
+    /**
+     * How long a key stays held by a request that never finished, e.g. because its instance died; a retry then takes
+     * it over and saves under the travel id the key reserved.
+     */
+    private Duration pendingTtl = Duration.ofMinutes(1);
+    /**
+     * Keys of the travels created through this instance kept in memory, so their retries skip Mongo.
+     */
+    private long localCacheSize = 10_000;
+}
@@ -0,0 +1,28 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.listing")
+public class ListingProperties {
+    private int maxPageSize = 100;
+    /**
+     * Travels a paged listing may skip; deeper pages have to be read with {@code ?cursor=}.
+     */
+    private long maxOffset = 10_000;
+    /**
+     * Sorts the listing accepts, as comma separated properties, each backed by an index.
+     */
+    private List<String> sorts = new ArrayList<>(List.of("id", "pgi", "pgi,date", "pgi,date,place"));
+    /**
+     * Time Mongo may spend on a listing query before giving up.
+     */
+    private Duration maxTime = Duration.ofSeconds(2);
+}
@@ -0,0 +1,19 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.mdc")
+public class MDCProperties {
+    private List<String> headers = List.of("User-Agent", "X-Forwarded-For");
+    private List<String> params = List.of("pgi", "cursor", "page", "size");
+    /**
+     * Incoming ids longer than this are ignored and a new one is generated, so a client can't bloat every log line.
+     */
+    private int maxRequestIdLength = 64;
+}
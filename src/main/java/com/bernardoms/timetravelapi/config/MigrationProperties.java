@@ -0,0 +1,37 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.migrations")
+public class MigrationProperties {
+    /**
+     * Runs pending migrations once the app is ready. Safe on every instance: a lease in the migrations collection
+     * lets only one of them work on a migration at a time.
+     */
+    private boolean enabled = false;
+    /**
+     * Documents rewritten per batch when requests are within budget; halved each time they are not.
+     */
+    private int batchSize = 500;
+    private int minBatchSize = 50;
+    /**
+     * Wait between batches when requests are within budget; doubled each time they are not.
+     */
+    private Duration pause = Duration.ofMillis(50);
+    private Duration maxPause = Duration.ofSeconds(5);
+    /**
+     * Average latency of the requests served during a batch above which the migration backs off.
+     */
+    private Duration latencyBudget = Duration.ofMillis(100);
+    /**
+     * How long an instance keeps a migration after its last checkpoint before another one may take it over. The
+     * other instances try to take it every half lease.
+     */
+    private Duration lease = Duration.ofMinutes(1);
+}
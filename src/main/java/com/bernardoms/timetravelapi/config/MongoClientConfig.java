@@ -0,0 +1,70 @@
+package com.bernardoms.timetravelapi.config;
+
+import com.mongodb.MongoCompressor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies {@link MongoClientProperties} to the blocking and the reactive client alike.
+ */
+@Configuration
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientPropertiesCustomizer(MongoClientProperties properties) {
+        return builder -> {
+            var pool = properties.getPool();
+            builder.applyToConnectionPoolSettings(settings -> {
+                if (pool.getMaxSize() != null) {
+                    settings.maxSize(pool.getMaxSize());
+                }
+                if (pool.getMinSize() != null) {
+                    settings.minSize(pool.getMinSize());
+                }
+                if (pool.getMaxWaitTime() != null) {
+                    settings.maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (pool.getMaxConnectionIdleTime() != null) {
+                    settings.maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (pool.getMaxConnectionLifeTime() != null) {
+                    settings.maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS);
+                }
+            });
+            builder.applyToSocketSettings(settings -> {
+                if (properties.getConnectTimeout() != null) {
+                    settings.connectTimeout((int) properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (properties.getSocketTimeout() != null) {
+                    settings.readTimeout((int) properties.getSocketTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                }
+            });
+            if (properties.getServerSelectionTimeout() != null) {
+                builder.applyToClusterSettings(settings ->
+                        settings.serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS));
+            }
+            if (!properties.getCompressors().isEmpty()) {
+                builder.compressorList(properties.getCompressors().stream()
+                        .map(MongoClientConfig::compressor)
+                        .collect(Collectors.toList()));
+            }
+        };
+    }
+
+    private static MongoCompressor compressor(String name) {
+        switch (name) {
+            case "zstd":
+                return MongoCompressor.createZstdCompressor();
+            case "snappy":
+                return MongoCompressor.createSnappyCompressor();
+            case "zlib":
+                return MongoCompressor.createZlibCompressor();
+            default:
+                throw new IllegalArgumentException("unknown mongo compressor " + name);
+        }
+    }
+}
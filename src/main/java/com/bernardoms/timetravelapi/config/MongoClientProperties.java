@@ -0,0 +1,47 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mongo client settings applied over {@code spring.data.mongodb.uri}; the ones left unset keep what the connection
+ * string or the driver says.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.mongo")
+public class MongoClientProperties {
+    private Pool pool = new Pool();
+    private Duration connectTimeout;
+    /**
+     * How long a read on an open connection may wait for the server before failing.
+     */
+    private Duration socketTimeout;
+    private Duration serverSelectionTimeout;
+    /**
+     * Any of zstd, snappy and zlib, most preferred first; the server picks the first one it supports.
+     */
+    private List<String> compressors = new ArrayList<>();
+    /**
+     * Read preference of travel lookups by id and of the travel listing, e.g. secondaryPreferred. Paradox checks and
+     * writes always go to the primary.
+     */
+    private String lookupReadPreference = "primary";
+
+    @Data
+    public static class Pool {
+        private Integer maxSize;
+        private Integer minSize;
+        /**
+         * How long a request waits for a free connection before failing; the driver default is 2 minutes.
+         */
+        private Duration maxWaitTime;
+        private Duration maxConnectionIdleTime;
+        private Duration maxConnectionLifeTime;
+    }
+}
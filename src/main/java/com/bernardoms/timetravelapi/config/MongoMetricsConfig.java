@@ -0,0 +1,38 @@
+package com.bernardoms.timetravelapi.config;
+
+import com.bernardoms.timetravelapi.admission.MongoPoolWaiters;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times every command sent by the Mongo driver as {@code mongodb.driver.commands}, for the blocking and the reactive
+ * client alike. Pool saturation shows as {@code mongodb.driver.pool.checkedout} reaching the pool size, a growing
+ * {@code mongodb.driver.pool.waiting}, and in the end as {@code mongodb.driver.pool.checkout.failed}.
+ */
+@Configuration
+public class MongoMetricsConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoMetricsCommandListener(MeterRegistry meterRegistry) {
+        return builder -> builder.addCommandListener(new MongoMetricsCommandListener(meterRegistry));
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoMetricsConnectionPoolListener(MeterRegistry meterRegistry, MongoPoolWaiters mongoPoolWaiters) {
+        return builder -> builder.applyToConnectionPoolSettings(settings -> settings
+                .addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry))
+                .addConnectionPoolListener(mongoPoolWaiters)
+                .addConnectionPoolListener(new ConnectionPoolListener() {
+                    @Override
+                    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+                        meterRegistry.counter("mongodb.driver.pool.checkout.failed").increment();
+                    }
+                }));
+    }
+}
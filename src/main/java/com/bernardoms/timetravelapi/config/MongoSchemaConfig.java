@@ -0,0 +1,71 @@
+package com.bernardoms.timetravelapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps stored travels compact: dates are written as their epoch day (an int32 instead of a UTC datetime, and still
+ * ordered), and no {@code _class} field is written since travels are never polymorphic. Replaces the converter Boot
+ * would configure for the blocking or the reactive stack.
+ */
+@Configuration
+public class MongoSchemaConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(LocalDateToEpochDayConverter.INSTANCE, EpochDayToLocalDateConverter.INSTANCE));
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public MappingMongoConverter mappingMongoConverter(MongoDatabaseFactory factory, MongoMappingContext context,
+                                                       MongoCustomConversions conversions) {
+        return compact(new MappingMongoConverter(new DefaultDbRefResolver(factory), context), conversions);
+    }
+
+    @Bean
+    @Profile("reactive")
+    public MappingMongoConverter reactiveMappingMongoConverter(MongoMappingContext context, MongoCustomConversions conversions) {
+        return compact(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context), conversions);
+    }
+
+    private static MappingMongoConverter compact(MappingMongoConverter converter, MongoCustomConversions conversions) {
+        converter.setCustomConversions(conversions);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        return converter;
+    }
+
+    @WritingConverter
+    enum LocalDateToEpochDayConverter implements Converter<LocalDate, Integer> {
+        INSTANCE;
+
+        @Override
+        public Integer convert(LocalDate source) {
+            return Math.toIntExact(source.toEpochDay());
+        }
+    }
+
+    @ReadingConverter
+    enum EpochDayToLocalDateConverter implements Converter<Integer, LocalDate> {
+        INSTANCE;
+
+        @Override
+        public LocalDate convert(Integer source) {
+            return LocalDate.ofEpochDay(source);
+        }
+    }
+}
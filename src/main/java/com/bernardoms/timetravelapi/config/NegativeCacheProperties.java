@@ -0,0 +1,27 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.negative-cache")
+public class NegativeCacheProperties {
+    private Duration ttl = Duration.ofSeconds(30);
+    private long maxSize = 100_000;
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    @Data
+    public static class BloomFilter {
+        /**
+         * After the warm-up, ids are added as their creation reaches this instance through the invalidation bus, so
+         * with several instances writing travels enable it only with {@code travel.cache.invalidation-bus=mongo}.
+         */
+        private boolean enabled = false;
+        private long expectedIds = 1_000_000;
+        private double falsePositiveRate = 0.01;
+    }
+}
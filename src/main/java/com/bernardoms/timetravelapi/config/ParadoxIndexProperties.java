@@ -0,0 +1,20 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.paradox-index")
+public class ParadoxIndexProperties {
+    private boolean enabled = true;
+    /**
+     * At 0.75 load each entry costs 16 bytes, so the default takes 16MB of heap.
+     */
+    private int maxEntries = 1_000_000;
+    /**
+     * Loads the (pgi, date) pairs of the most recent travels, up to {@code maxEntries}, once the app is ready.
+     */
+    private boolean warmUp = true;
+}
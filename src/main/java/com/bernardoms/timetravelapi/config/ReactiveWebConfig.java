@@ -0,0 +1,50 @@
+package com.bernardoms.timetravelapi.config;
+
+import com.bernardoms.timetravelapi.controller.TimeTravelController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+import java.util.List;
+
+@Configuration
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveWebConfig implements WebFluxConfigurer {
+    private final ObjectMapper objectMapper;
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper,
+                MediaType.APPLICATION_JSON,
+                new MediaType("application", "*+json"),
+                MediaType.parseMediaType(TimeTravelController.APPLICATION_NDJSON_VALUE)));
+
+        var encoder = new Jackson2JsonEncoder(objectMapper,
+                MediaType.APPLICATION_JSON,
+                new MediaType("application", "*+json"),
+                MediaType.parseMediaType(TimeTravelController.APPLICATION_NDJSON_VALUE));
+        encoder.setStreamingMediaTypes(List.of(MediaType.APPLICATION_STREAM_JSON, MediaType.parseMediaType(TimeTravelController.APPLICATION_NDJSON_VALUE)));
+        configurer.defaultCodecs().jackson2JsonEncoder(encoder);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private long maxEntries = 10_000;
+    /**
+     * Also keeps a gzipped copy, sent to clients accepting gzip, for the responses it makes smaller.
+     */
+    private boolean gzip = false;
+}
@@ -0,0 +1,85 @@
+package com.bernardoms.timetravelapi.config;
+
+import com.bernardoms.timetravelapi.cache.OffHeapTravelCacheStore;
+import com.bernardoms.timetravelapi.cache.TwoTierTravelCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Replaces Boot's Caffeine cache manager with one whose {@code travel} cache keeps a Caffeine near cache, configured
+ * from {@code spring.cache.caffeine.spec}, in front of an off-heap store.
+ */
+@Configuration
+@ConditionalOnProperty(value = "travel.cache.l2.enabled", havingValue = "true")
+@EnableConfigurationProperties(CacheProperties.class)
+public class TwoTierCacheConfig {
+    private static final String TRAVEL_CACHE = "travel";
+
+    @Bean
+    public TwoTierTravelCache travelCache(CacheProperties cacheProperties, TwoTierCacheProperties properties) {
+        var spec = cacheProperties.getCaffeine().getSpec();
+        var caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+        var nearCache = new CaffeineCache(TRAVEL_CACHE, caffeine.build(), false);
+        var store = new OffHeapTravelCacheStore(properties.getMaxEntries(), properties.getSlotSize(), properties.getSegments());
+        return new TwoTierTravelCache(nearCache, store);
+    }
+
+    @Bean
+    public CacheManager cacheManager(TwoTierTravelCache travelCache) {
+        var cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(travelCache));
+        return cacheManager;
+    }
+
+    /**
+     * Picked up by Boot's cache metrics, which only know Caffeine caches: binds the usual {@code cache.*} meters of the
+     * near cache plus the per-tier ones.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierTravelCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> registry -> {
+            new CaffeineCacheMetrics((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache(), cache.getName(), tags)
+                    .bindTo(registry);
+            counter(registry, cache, tags, "l1", "hit", TwoTierTravelCache::getNearHits);
+            counter(registry, cache, tags, "l1", "miss", TwoTierTravelCache::getNearMisses);
+            counter(registry, cache, tags, "l2", "hit", TwoTierTravelCache::getStoreHits);
+            counter(registry, cache, tags, "l2", "miss", TwoTierTravelCache::getStoreMisses);
+            FunctionCounter.builder("cache.tier.rejected", cache, TwoTierTravelCache::getStoreRejections)
+                    .tags(tags).tags("cache", cache.getName(), "tier", "l2")
+                    .description("Entries too large for the off-heap tier")
+                    .register(registry);
+            Gauge.builder("cache.tier.size", cache, c -> c.getStore().size())
+                    .tags(tags).tags("cache", cache.getName(), "tier", "l2")
+                    .register(registry);
+            Gauge.builder("cache.tier.capacity.bytes", cache,
+                    c -> ((OffHeapTravelCacheStore) c.getStore()).capacityBytes())
+                    .tags(tags).tags("cache", cache.getName(), "tier", "l2")
+                    .description("Direct memory reserved by the off-heap tier")
+                    .register(registry);
+        };
+    }
+
+    private static void counter(MeterRegistry registry, TwoTierTravelCache cache, Iterable<Tag> tags,
+                                String tier, String result, ToDoubleFunction<TwoTierTravelCache> count) {
+        FunctionCounter.builder("cache.tier.gets", cache, count)
+                .tags(tags).tags("cache", cache.getName(), "tier", tier, "result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.bernardoms.timetravelapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "travel.cache.l2")
+public class TwoTierCacheProperties {
+    private boolean enabled = false;
+    private long maxEntries = 1_000_000;
+    /**
+     * Bytes reserved per entry; travels whose pgi and place take more than {@code slotSize - 23} bytes stay on-heap only.
+     */
+    private int slotSize = 64;
+    private int segments = 64;
+}
@@ -1,9 +1,16 @@
 package com.bernardoms.timetravelapi.controller;
 
+import com.bernardoms.timetravelapi.dto.ErrorDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
 import com.bernardoms.timetravelapi.exception.ParadoxException;
 import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,59 +24,82 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@Profile("!reactive")
 @Slf4j
 public class ExceptionController {
 
-    private static final String DESCRIPTION = "description";
+    private static final ErrorDTO PARADOX = new ErrorDTO("Paradox detected!");
 
-    @ExceptionHandler({BindException.class, HttpMessageNotReadableException.class, IllegalArgumentException.class, MethodArgumentTypeMismatchException.class})
+    @ExceptionHandler({BindException.class, HttpMessageNotReadableException.class, IllegalArgumentException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    private Object handleIllegalArgumentException(Exception ex, HttpServletRequest request) {
-        log.error("invalid arguments/body for processing the request: " + request.getRequestURI(), ex);
-        if (ex instanceof MethodArgumentTypeMismatchException
-                && ((MethodArgumentTypeMismatchException) ex).getMostSpecificCause().getMessage().contains("invalid hexadecimal representation of an ObjectId")) {
-            return Map.of(DESCRIPTION, "invalid " + ((MethodArgumentTypeMismatchException) ex).getName());
+    private ErrorDTO handleIllegalArgumentException(Exception ex, HttpServletRequest request) {
+        log.info("invalid arguments/body for processing the request: {} : {}", request.getRequestURI(), ex.getMessage());
+        return new ErrorDTO(ex.getMessage());
+    }
+
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    private ErrorDTO handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        log.info("invalid arguments/body for processing the request: {} : {}", request.getRequestURI(), ex.getMessage());
+        if (ObjectId.class.equals(ex.getRequiredType())) {
+            return new ErrorDTO("invalid " + ex.getName());
         }
-        return mountError(ex);
+        return new ErrorDTO(ex.getMessage());
     }
 
     @ExceptionHandler({ParadoxException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
-    private Object handleParadoxException(ParadoxException ex, HttpServletRequest request) {
-        log.info("paradox exception : {}", ex.getMessage());
-        return mountError(ex);
+    private ErrorDTO handleParadoxException(ParadoxException ex, HttpServletRequest request) {
+        var message = ex.getMessage();
+        log.info("paradox exception : {}", message);
+        return new ErrorDTO(message);
+    }
+
+    @ExceptionHandler({IdempotencyKeyException.class})
+    private ResponseEntity<ErrorDTO> handleIdempotencyKeyException(IdempotencyKeyException ex, HttpServletRequest request) {
+        log.info("idempotency key refused on {} : {}", request.getRequestURI(), ex.getMessage());
+        var status = ex.isReused() ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(new ErrorDTO(ex.getMessage()));
+    }
+
+    @ExceptionHandler({DuplicateKeyException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    private ErrorDTO handleDuplicateKeyException(DuplicateKeyException ex, HttpServletRequest request) {
+        log.info("paradox detected by unique index on: {}", request.getRequestURI());
+        return PARADOX;
+    }
+
+    @ExceptionHandler({QueryTimeoutException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    private ErrorDTO handleQueryTimeoutException(QueryTimeoutException ex, HttpServletRequest request) {
+        log.warn("query out of time on {} : {}", request.getRequestURI(), ex.getMessage());
+        return new ErrorDTO(ex.getMessage());
     }
 
     @ExceptionHandler({TravelNotFoundException.class})
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    private Object handleTravelNotFoundException(TravelNotFoundException ex, HttpServletRequest request) {
-        log.info("travel not found! : " + request.getRequestURI(), ex);
-        return mountError(ex);
+    private ErrorDTO handleTravelNotFoundException(TravelNotFoundException ex, HttpServletRequest request) {
+        log.info("travel not found! : {}", request.getRequestURI());
+        return new ErrorDTO(ex.getMessage());
     }
 
 
     @ExceptionHandler({Exception.class})
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    private Object handleException(Exception ex, HttpServletRequest request) {
+    private ErrorDTO handleException(Exception ex, HttpServletRequest request) {
         log.error("error on process the request: " + request.getRequestURI(), ex);
-        return mountError(ex);
+        return new ErrorDTO(ex.getMessage());
     }
 
     @ExceptionHandler({MethodArgumentNotValidException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    protected Object handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpServletRequest request) {
+    protected ErrorDTO handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpServletRequest request) {
         Map<String, String> details = new HashMap<>();
 
         ex.getBindingResult().getFieldErrors().forEach(field -> details.put(field.getField(), field.getDefaultMessage()));
 
         log.info("error on the request validation {}", details);
 
-        return Map.of(DESCRIPTION, details);
-    }
-
-    private HashMap<Object, Object> mountError(Exception e) {
-        var error = new HashMap<>();
-        error.put(DESCRIPTION, e.getMessage());
-        return error;
+        return new ErrorDTO(details);
     }
 }
@@ -0,0 +1,104 @@
+package com.bernardoms.timetravelapi.controller;
+
+import com.bernardoms.timetravelapi.dto.ErrorDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
+import com.bernardoms.timetravelapi.exception.ParadoxException;
+import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice
+@Profile("reactive")
+@Slf4j
+public class ReactiveExceptionController {
+
+    private static final ErrorDTO PARADOX = new ErrorDTO("Paradox detected!");
+
+    @ExceptionHandler({ServerWebInputException.class, IllegalArgumentException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    private ErrorDTO handleIllegalArgumentException(Exception ex, ServerHttpRequest request) {
+        log.info("invalid arguments/body for processing the request: {} : {}", request.getPath(), ex.getMessage());
+        if (ex instanceof ServerWebInputException
+                && ex.getCause() instanceof TypeMismatchException
+                && ((ServerWebInputException) ex).getMethodParameter() != null) {
+            return new ErrorDTO("invalid " + ((ServerWebInputException) ex).getMethodParameter().getParameterName());
+        }
+        return new ErrorDTO(ex.getMessage());
+    }
+
+    @ExceptionHandler({ParadoxException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    private ErrorDTO handleParadoxException(ParadoxException ex, ServerHttpRequest request) {
+        var message = ex.getMessage();
+        log.info("paradox exception : {}", message);
+        return new ErrorDTO(message);
+    }
+
+    @ExceptionHandler({IdempotencyKeyException.class})
+    private ResponseEntity<ErrorDTO> handleIdempotencyKeyException(IdempotencyKeyException ex, ServerHttpRequest request) {
+        log.info("idempotency key refused on {} : {}", request.getPath(), ex.getMessage());
+        var status = ex.isReused() ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(new ErrorDTO(ex.getMessage()));
+    }
+
+    @ExceptionHandler({DuplicateKeyException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    private ErrorDTO handleDuplicateKeyException(DuplicateKeyException ex, ServerHttpRequest request) {
+        log.info("paradox detected by unique index on: {}", request.getPath());
+        return PARADOX;
+    }
+
+    @ExceptionHandler({QueryTimeoutException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    private ErrorDTO handleQueryTimeoutException(QueryTimeoutException ex, ServerHttpRequest request) {
+        log.warn("query out of time on {} : {}", request.getPath(), ex.getMessage());
+        return new ErrorDTO(ex.getMessage());
+    }
+
+    @ExceptionHandler({TravelNotFoundException.class})
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    private ErrorDTO handleTravelNotFoundException(TravelNotFoundException ex, ServerHttpRequest request) {
+        log.info("travel not found! : {}", request.getPath());
+        return new ErrorDTO(ex.getMessage());
+    }
+
+    @ExceptionHandler({ResponseStatusException.class})
+    private ResponseEntity<ErrorDTO> handleResponseStatusException(ResponseStatusException ex, ServerHttpRequest request) {
+        log.info("request finished with status {} : {}", ex.getStatus(), request.getPath());
+        return ResponseEntity.status(ex.getStatus()).body(new ErrorDTO(String.valueOf(ex.getReason())));
+    }
+
+    @ExceptionHandler({Exception.class})
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    private ErrorDTO handleException(Exception ex, ServerHttpRequest request) {
+        log.error("error on process the request: " + request.getPath(), ex);
+        return new ErrorDTO(ex.getMessage());
+    }
+
+    @ExceptionHandler({WebExchangeBindException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    protected ErrorDTO handleWebExchangeBindException(WebExchangeBindException ex, ServerHttpRequest request) {
+        Map<String, String> details = new HashMap<>();
+
+        ex.getFieldErrors().forEach(field -> details.put(field.getField(), field.getDefaultMessage()));
+
+        log.info("error on the request validation {}", details);
+
+        return new ErrorDTO(details);
+    }
+}
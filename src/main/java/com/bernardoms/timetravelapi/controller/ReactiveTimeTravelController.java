@@ -0,0 +1,90 @@
+package com.bernardoms.timetravelapi.controller;
+
+import com.bernardoms.timetravelapi.cache.HotTravelKeys;
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.ExportFormat;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.service.ReactiveTimeTravelService;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.bernardoms.timetravelapi.controller.TimeTravelController.APPLICATION_NDJSON_VALUE;
+
+@RequestMapping("/v1/travels")
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTimeTravelController {
+    private final ReactiveTimeTravelService reactiveTimeTravelService;
+    private final HotTravelKeys hotTravelKeys;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponseEntity<Void>> save(@RequestBody @Validated TimeTravelDTO timeTravelDTO,
+                                           @RequestHeader(value = TimeTravelController.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                           UriComponentsBuilder uriComponentsBuilder) {
+        return reactiveTimeTravelService
+                .saveTravel(timeTravelDTO, idempotencyKey)
+                .map(travelId -> ResponseEntity.created(uriComponentsBuilder.path("/v1/travels/{travelId}").buildAndExpand(travelId).toUri()).build());
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<BatchItemResultDTO>> saveBatch(@RequestBody Flux<TimeTravelDTO> timeTravelDTOs) {
+        return reactiveTimeTravelService.saveTravels(timeTravelDTOs);
+    }
+
+    @GetMapping("/{travelId}")
+    public Mono<ResponseEntity<TimeTravelDTO>> getTravel(@PathVariable ObjectId travelId) {
+        hotTravelKeys.record(travelId);
+        return reactiveTimeTravelService.getTravel(travelId).map(travel -> TravelETags.travel(travelId, travel));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<TimeTravelDTO>>> getTravels(Pageable pageable) {
+        return reactiveTimeTravelService.getTravels(pageable).map(TravelETags::page);
+    }
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<CursorPageDTO<TimeTravelDTO>>> getTravels(@RequestParam String cursor, @RequestParam(defaultValue = "20") int size) {
+        return reactiveTimeTravelService.getTravels(cursor, size).map(TravelETags::page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<Flux<?>> exportTravels(@RequestParam(required = false) String pgi,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                 @RequestParam(defaultValue = "ndjson") String format) {
+        var exportFormat = ExportFormat.of(format);
+        var travels = reactiveTimeTravelService.streamTravels(pgi, from, to);
+        var body = exportFormat == ExportFormat.CSV
+                ? Flux.concat(Flux.just(TravelCsv.HEADER), travels.map(TravelCsv::line))
+                : travels;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(body);
+    }
+
+    @DeleteMapping("/{travelId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteTravel(@PathVariable ObjectId travelId) {
+        return reactiveTimeTravelService.deleteTravel(travelId);
+    }
+}
@@ -1,50 +1,226 @@
 package com.bernardoms.timetravelapi.controller;
 
+import com.bernardoms.timetravelapi.cache.EncodedTravel;
+import com.bernardoms.timetravelapi.cache.HotTravelKeys;
+import com.bernardoms.timetravelapi.cache.TravelResponseCache;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.ExportFormat;
 import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
 import com.bernardoms.timetravelapi.exception.ParadoxException;
 import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
 import com.bernardoms.timetravelapi.service.TimeTravelService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
 @RequestMapping("/v1/travels")
+@Profile("!reactive")
 @RestController
 @RequiredArgsConstructor
 public class TimeTravelController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final TimeTravelService timeTravelService;
+    private final ObjectMapper objectMapper;
+    private final HotTravelKeys hotTravelKeys;
+    private final TravelResponseCache travelResponseCache;
+    private final BatchProperties batchProperties;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<String> save(@RequestBody @Validated TimeTravelDTO timeTravelDTO, UriComponentsBuilder uriComponentsBuilder) throws ParadoxException {
-        var travelId = timeTravelService.saveTravel(timeTravelDTO);
+    public ResponseEntity<String> save(@RequestBody @Validated TimeTravelDTO timeTravelDTO,
+                                       @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                       UriComponentsBuilder uriComponentsBuilder) throws ParadoxException, IdempotencyKeyException {
+        var travelId = timeTravelService.saveTravel(timeTravelDTO, idempotencyKey);
 
         var uriComponent = uriComponentsBuilder.path("/v1/travels/{travelId}").buildAndExpand(travelId);
 
         return ResponseEntity.created(uriComponent.toUri()).build();
     }
 
-    @GetMapping("/{travelId}")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public TimeTravelDTO getTravel(@PathVariable ObjectId travelId) throws TravelNotFoundException {
-        return timeTravelService.getTravel(travelId);
+    public List<BatchItemResultDTO> saveBatch(InputStream body) throws IOException {
+        try (var parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("batch should be a JSON array of travels");
+            }
+            // read the elements one at a time from inside the array
+            parser.clearCurrentToken();
+            MappingIterator<TimeTravelDTO> travels = objectMapper.readerFor(TimeTravelDTO.class).readValues(parser);
+            return timeTravelService.saveTravels(readBatch(travels));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid json body: " + e.getOriginalMessage(), e);
+        }
     }
 
-    @GetMapping
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public Page<TimeTravelDTO> getTravels(Pageable pageable) {
-        return timeTravelService.getTravels(pageable);
+    public List<BatchItemResultDTO> saveBatchStream(InputStream body) throws IOException {
+        try (MappingIterator<TimeTravelDTO> travels = objectMapper.readerFor(TimeTravelDTO.class).readValues(body)) {
+            return timeTravelService.saveTravels(readBatch(travels));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid ndjson body: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @GetMapping("/{travelId}")
+    public ResponseEntity<?> getTravel(@PathVariable ObjectId travelId,
+                                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws TravelNotFoundException {
+        hotTravelKeys.record(travelId);
+        if (!travelResponseCache.isEnabled()) {
+            return TravelETags.travel(travelId, timeTravelService.getTravel(travelId));
+        }
+        var encoded = travelResponseCache.get(travelId);
+        if (encoded == null) {
+            encoded = travelResponseCache.put(travelId, TravelETags.travel(travelId), timeTravelService.getTravel(travelId));
+        }
+        return encoded(encoded, acceptEncoding);
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<TimeTravelDTO>> getTravels(Pageable pageable) {
+        return TravelETags.page(timeTravelService.getTravels(pageable));
     }
     
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<TimeTravelDTO>> getTravels(@RequestParam String cursor, @RequestParam(defaultValue = "20") int size) {
+        return TravelETags.page(timeTravelService.getTravels(cursor, size));
+    }
+
+    @GetMapping("/export")
+    public void exportTravels(@RequestParam(required = false) String pgi,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                              @RequestParam(defaultValue = "ndjson") String format,
+                              HttpServletResponse response) throws IOException {
+        var exportFormat = ExportFormat.of(format);
+        response.setContentType(exportFormat.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (var travels = timeTravelService.streamTravels(pgi, from, to)) {
+            if (exportFormat == ExportFormat.CSV) {
+                writeCsv(travels, response.getWriter());
+            } else {
+                writeNdjson(travels, response.getOutputStream());
+            }
+        }
+    }
+
     @DeleteMapping("/{travelId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTravel(@PathVariable ObjectId travelId) {
         timeTravelService.deleteTravel(travelId);
+        travelResponseCache.evict(travelId);
+    }
+
+    /**
+     * Answers with the cached bytes as is, with the headers {@link TravelETags#travel} would have set. Spring still
+     * answers a matching {@code If-None-Match} with a 304 before writing them.
+     */
+    private static ResponseEntity<byte[]> encoded(EncodedTravel encoded, String acceptEncoding) {
+        var response = ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, TravelETags.TRAVEL_CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (encoded.getGzip() == null) {
+            return response.eTag(encoded.getETag()).body(encoded.getJson());
+        }
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            return response.eTag(encoded.getETag()).body(encoded.getJson());
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .eTag(TravelETags.gzipped(encoded.getETag()))
+                .body(encoded.getGzip());
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} gives gzip, by name or through {@code *}, a quality above zero.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim();
+            var quality = 1.0;
+            for (int i = 1; i < parameters.length; i++) {
+                var parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        var quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * Reads the travels of a batch, refusing it as soon as it has one more than allowed rather than holding it whole.
+     */
+    private List<TimeTravelDTO> readBatch(MappingIterator<TimeTravelDTO> travels) throws IOException {
+        var timeTravelDTOs = new ArrayList<TimeTravelDTO>();
+        while (travels.hasNextValue()) {
+            if (timeTravelDTOs.size() == batchProperties.getMaxSize()) {
+                throw new IllegalArgumentException("batch should have at most " + batchProperties.getMaxSize() + " travels");
+            }
+            timeTravelDTOs.add(travels.nextValue());
+        }
+        return timeTravelDTOs;
+    }
+
+    private void writeNdjson(Stream<TimeTravelDTO> travels, OutputStream outputStream) throws IOException {
+        try (var writer = objectMapper.writerFor(TimeTravelDTO.class).withRootValueSeparator("\n").writeValues(outputStream)) {
+            for (var iterator = travels.iterator(); iterator.hasNext(); ) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    private void writeCsv(Stream<TimeTravelDTO> travels, PrintWriter writer) {
+        writer.write(TravelCsv.HEADER);
+        travels.forEach(t -> writer.write(TravelCsv.line(t)));
+        writer.flush();
     }
 }
@@ -0,0 +1,24 @@
+package com.bernardoms.timetravelapi.controller;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+
+final class TravelCsv {
+    static final String HEADER = "pgi,place,date\n";
+
+    private TravelCsv() {
+    }
+
+    static String line(TimeTravelDTO timeTravelDTO) {
+        return escape(timeTravelDTO.getPgi()) + ',' + escape(timeTravelDTO.getPlace()) + ',' + timeTravelDTO.getDate() + '\n';
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
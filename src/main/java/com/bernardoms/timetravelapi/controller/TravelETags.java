@@ -0,0 +1,93 @@
+package com.bernardoms.timetravelapi.controller;
+
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Validators for the travel responses. Spring answers a matching {@code If-None-Match} with a 304 before writing the
+ * body, so a revalidated response is never serialized.
+ */
+final class TravelETags {
+    /**
+     * A saved travel never changes, so its id is a strong ETag, but it can be deleted: caches keep it a minute at most,
+     * then revalidate and learn of a delete from the 404.
+     */
+    static final String TRAVEL_CACHE_CONTROL = "public, max-age=60, must-revalidate";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private TravelETags() {
+    }
+
+    static ResponseEntity<TimeTravelDTO> travel(ObjectId travelId, TimeTravelDTO timeTravelDTO) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, TRAVEL_CACHE_CONTROL)
+                .eTag(travel(travelId))
+                .body(timeTravelDTO);
+    }
+
+    static String travel(ObjectId travelId) {
+        return '"' + travelId.toHexString() + '"';
+    }
+
+    /**
+     * The gzipped body is another representation of the travel, so it gets its own strong ETag.
+     */
+    static String gzipped(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-gz\"";
+    }
+
+    /**
+     * Lists change as travels come and go, so they are revalidated on every use, against a weak ETag of what they show.
+     */
+    static ResponseEntity<Page<TimeTravelDTO>> page(Page<TimeTravelDTO> page) {
+        var hash = hash(page.getContent());
+        hash = mix(hash, page.getNumber());
+        hash = mix(hash, page.getSize());
+        hash = mix(hash, page.getTotalElements());
+        return revalidated(hash, page);
+    }
+
+    static ResponseEntity<CursorPageDTO<TimeTravelDTO>> page(CursorPageDTO<TimeTravelDTO> page) {
+        return revalidated(mix(hash(page.getContent()), page.getNext()), page);
+    }
+
+    private static <T> ResponseEntity<T> revalidated(long hash, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag("W/\"" + Long.toHexString(hash) + '"')
+                .body(body);
+    }
+
+    private static long hash(Iterable<TimeTravelDTO> travels) {
+        var hash = FNV_OFFSET;
+        for (TimeTravelDTO travel : travels) {
+            hash = mix(hash, travel.getPgi());
+            hash = mix(hash, travel.getPlace());
+            hash = mix(hash, travel.getDate() == null ? -1 : travel.getDate().toEpochDay());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
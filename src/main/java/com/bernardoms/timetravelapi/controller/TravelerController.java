@@ -0,0 +1,29 @@
+package com.bernardoms.timetravelapi.controller;
+
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.service.TimeTravelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RequestMapping("/v1/travelers")
+@RestController
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TravelerController {
+    private final TimeTravelService timeTravelService;
+
+    @GetMapping("/{pgi}/travels")
+    public ResponseEntity<CursorPageDTO<TimeTravelDTO>> getTravelerTimeline(@PathVariable String pgi,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return TravelETags.page(timeTravelService.getTravelerTimeline(pgi, from, to, cursor, size));
+    }
+}
@@ -0,0 +1,26 @@
+package com.bernardoms.timetravelapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDTO {
+    private int index;
+    private Status status;
+    private String id;
+    private String description;
+    private Map<String, String> errors;
+
+    public enum Status {
+        CREATED, PARADOX, INVALID
+    }
+}
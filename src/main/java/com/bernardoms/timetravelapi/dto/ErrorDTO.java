@@ -0,0 +1,12 @@
+package com.bernardoms.timetravelapi.dto;
+
+import lombok.Value;
+
+/**
+ * Body of every error response; {@code description} is a message or, for validation errors, a field to message map.
+ * Immutable, since the paradox body is one shared instance.
+ */
+@Value
+public class ErrorDTO {
+    Object description;
+}
@@ -0,0 +1,26 @@
+package com.bernardoms.timetravelapi.exception;
+
+/**
+ * An {@code Idempotency-Key} that cannot be honored: its first request is still in flight, or it came with a
+ * different body.
+ */
+public class IdempotencyKeyException extends Exception {
+    private final boolean reused;
+
+    private IdempotencyKeyException(String message, boolean reused) {
+        super(message, null, false, false);
+        this.reused = reused;
+    }
+
+    public static IdempotencyKeyException inProgress(String key) {
+        return new IdempotencyKeyException("a request with Idempotency-Key " + key + " is still in progress", false);
+    }
+
+    public static IdempotencyKeyException reused(String key) {
+        return new IdempotencyKeyException("Idempotency-Key " + key + " was already used for a different travel", true);
+    }
+
+    public boolean isReused() {
+        return reused;
+    }
+}
@@ -1,7 +1,36 @@
 package com.bernardoms.timetravelapi.exception;
 
+import java.time.LocalDate;
+
+/**
+ * Expected outcome of saving a travel that already exists, so it skips the stack trace and builds its message only
+ * when read.
+ */
 public class ParadoxException extends Exception {
+    private final String pgi;
+    private final String place;
+    private final LocalDate date;
+
     public ParadoxException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.pgi = null;
+        this.place = null;
+        this.date = null;
+    }
+
+    public ParadoxException(String pgi, String place, LocalDate date) {
+        super(null, null, false, false);
+        this.pgi = pgi;
+        this.place = place;
+        this.date = date;
+    }
+
+    public static String message(String pgi, String place, LocalDate date) {
+        return "Paradox detected! traveler with pgi " + pgi + " already traveled to " + place + " at date " + date;
+    }
+
+    @Override
+    public String getMessage() {
+        return pgi == null ? super.getMessage() : message(pgi, place, date);
     }
 }
@@ -1,7 +1,25 @@
 package com.bernardoms.timetravelapi.exception;
 
+import org.bson.types.ObjectId;
+
+/**
+ * Expected outcome of looking up an unknown travel, so it skips the stack trace and builds its message only when read.
+ */
 public class TravelNotFoundException extends Exception {
-    public TravelNotFoundException(String message ) {
-        super(message);
+    private final ObjectId travelId;
+
+    public TravelNotFoundException(String message) {
+        super(message, null, false, false);
+        this.travelId = null;
+    }
+
+    public TravelNotFoundException(ObjectId travelId) {
+        super(null, null, false, false);
+        this.travelId = travelId;
+    }
+
+    @Override
+    public String getMessage() {
+        return travelId == null ? super.getMessage() : "Travel with id " + travelId + " not found!";
     }
 }
@@ -0,0 +1,104 @@
+package com.bernardoms.timetravelapi.filter;
+
+import com.bernardoms.timetravelapi.admission.Admission;
+import com.bernardoms.timetravelapi.admission.AdmissionControl;
+import com.bernardoms.timetravelapi.admission.ClientIdentity;
+import com.bernardoms.timetravelapi.admission.RouteLimiter;
+import com.bernardoms.timetravelapi.config.AdmissionControlProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Refuses the requests {@link AdmissionControl} does not admit before they reach a controller. Runs right after the
+ * request metrics filter, so refused requests still show in {@code http.server.requests}.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(prefix = "travel.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private final AdmissionControl admissionControl;
+    private final ClientIdentity clientIdentity;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, AdmissionControlProperties properties) {
+        this.admissionControl = admissionControl;
+        this.clientIdentity = new ClientIdentity(properties);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
+        var route = admissionControl.route(httpServletRequest.getMethod(), httpServletRequest.getRequestURI());
+        var admission = admissionControl.admit(route,
+                clientIdentity.of(httpServletRequest::getHeader, httpServletRequest.getRemoteAddr()),
+                httpServletRequest.getHeader(AdmissionControl.REQUEST_START_HEADER));
+        if (admission != Admission.ADMITTED) {
+            refuse(admission, httpServletResponse);
+            return;
+        }
+
+        var released = false;
+        try {
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+            if (httpServletRequest.isAsyncStarted()) {
+                httpServletRequest.getAsyncContext().addListener(new ReleaseOnComplete(route));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                route.release();
+            }
+        }
+    }
+
+    private static void refuse(Admission admission, HttpServletResponse httpServletResponse) throws IOException {
+        httpServletResponse.setStatus(admission.getStatus());
+        httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        httpServletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        httpServletResponse.setContentLength(admission.getBody().length);
+        httpServletResponse.getOutputStream().write(admission.getBody());
+    }
+
+    private static class ReleaseOnComplete implements AsyncListener {
+        private final RouteLimiter route;
+
+        ReleaseOnComplete(RouteLimiter route) {
+            this.route = route;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            route.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.bernardoms.timetravelapi.filter;
 
+import com.bernardoms.timetravelapi.config.MDCProperties;
 import org.slf4j.MDC;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -9,37 +11,77 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
+@Profile("!reactive")
 public class MDCFilter extends OncePerRequestFilter {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String[] headers;
+    private final String[] params;
+    private final int maxRequestIdLength;
+
+    public MDCFilter(MDCProperties properties) {
+        this.headers = properties.getHeaders().toArray(new String[0]);
+        this.params = properties.getParams().toArray(new String[0]);
+        this.maxRequestIdLength = properties.getMaxRequestIdLength();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
-        MDC.clear();
-        var requestId = String.valueOf(UUID.randomUUID());
+        var requestId = requestId(httpServletRequest);
 
         httpServletResponse.setHeader("RequestId", requestId);
-        MDC.put("path", httpServletRequest.getRequestURI());
-        MDC.put("requestMethod", httpServletRequest.getMethod());
-        MDC.put("requestId", requestId);
+        try {
+            MDC.put("path", httpServletRequest.getRequestURI());
+            MDC.put("requestMethod", httpServletRequest.getMethod());
+            MDC.put("requestId", requestId);
+
+            for (String header : headers) {
+                var value = httpServletRequest.getHeader(header);
+                if (value != null) {
+                    MDC.put(header, value);
+                }
+            }
+            for (String param : params) {
+                var value = httpServletRequest.getParameter(param);
+                if (value != null) {
+                    MDC.put(param, value);
+                }
+            }
 
-        addHeaderToMDC(httpServletRequest);
-        addParamsToMDC(httpServletRequest);
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+        } finally {
+            MDC.clear();
+        }
+    }
 
-        filterChain.doFilter(httpServletRequest, httpServletResponse);
+    private String requestId(HttpServletRequest httpServletRequest) {
+        var incoming = httpServletRequest.getHeader(REQUEST_ID_HEADER);
+        if (incoming != null && !incoming.isEmpty() && incoming.length() <= maxRequestIdLength) {
+            return incoming;
+        }
+        return randomId();
     }
 
-    private void addHeaderToMDC(HttpServletRequest httpServletRequest) {
-        var headers = Collections.list(httpServletRequest.getHeaderNames())
-                .stream()
-                .collect(Collectors.toMap(h -> h, httpServletRequest::getHeader));
-        headers.forEach(MDC::put);
+    /**
+     * 128 random bits as 32 hex chars; ThreadLocalRandom avoids the SecureRandom contention of UUID.randomUUID().
+     */
+    private static String randomId() {
+        var random = ThreadLocalRandom.current();
+        var chars = new char[32];
+        writeHex(random.nextLong(), chars, 0);
+        writeHex(random.nextLong(), chars, 16);
+        return new String(chars);
     }
 
-    private void addParamsToMDC(HttpServletRequest httpServletRequest) {
-        var parameterMap = httpServletRequest.getParameterMap();
-        parameterMap.forEach((key, value) -> MDC.put(key, value[0]));
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.bernardoms.timetravelapi.filter;
+
+import com.bernardoms.timetravelapi.admission.Admission;
+import com.bernardoms.timetravelapi.admission.AdmissionControl;
+import com.bernardoms.timetravelapi.admission.ClientIdentity;
+import com.bernardoms.timetravelapi.config.AdmissionControlProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reactive twin of {@link AdmissionControlFilter}; the route is released when the exchange terminates.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(prefix = "travel.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveAdmissionControlFilter implements WebFilter {
+    private final AdmissionControl admissionControl;
+    private final ClientIdentity clientIdentity;
+
+    public ReactiveAdmissionControlFilter(AdmissionControl admissionControl, AdmissionControlProperties properties) {
+        this.admissionControl = admissionControl;
+        this.clientIdentity = new ClientIdentity(properties);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var request = exchange.getRequest();
+        var path = request.getPath().value();
+        if (path.startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+
+        var headers = request.getHeaders();
+        var remoteAddress = request.getRemoteAddress();
+        var route = admissionControl.route(request.getMethodValue(), path);
+        var admission = admissionControl.admit(route,
+                clientIdentity.of(headers::getFirst,
+                        remoteAddress == null || remoteAddress.getAddress() == null ? null : remoteAddress.getAddress().getHostAddress()),
+                headers.getFirst(AdmissionControl.REQUEST_START_HEADER));
+        if (admission != Admission.ADMITTED) {
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.valueOf(admission.getStatus()));
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(admission.getBody())));
+        }
+        return chain.filter(exchange).doFinally(signal -> route.release());
+    }
+}
@@ -0,0 +1,39 @@
+package com.bernardoms.timetravelapi.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingMetrics implements MeterBinder {
+    static final String APPENDER_NAME = "asyncJsonConsoleAppender";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+            return;
+        }
+        var root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+        if (!(root.getAppender(APPENDER_NAME) instanceof MeteredAsyncAppender)) {
+            return;
+        }
+        var appender = (MeteredAsyncAppender) root.getAppender(APPENDER_NAME);
+
+        FunctionCounter.builder("logging.events.dropped", appender, MeteredAsyncAppender::getDiscardedCount)
+                .tag("reason", "discarding-threshold")
+                .description("Log events dropped by the async appender")
+                .register(registry);
+        FunctionCounter.builder("logging.events.dropped", appender, MeteredAsyncAppender::getRejectedCount)
+                .tag("reason", "queue-full")
+                .description("Log events dropped by the async appender")
+                .register(registry);
+        Gauge.builder("logging.queue.remaining", appender, MeteredAsyncAppender::getRemainingCapacity)
+                .description("Free slots in the async logging queue")
+                .register(registry);
+    }
+}
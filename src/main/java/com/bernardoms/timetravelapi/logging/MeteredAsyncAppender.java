@@ -0,0 +1,47 @@
+package com.bernardoms.timetravelapi.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it drops so they can be exposed as metrics.
+ * The checks mirror the ones of the base class and are done first, so the counts match what was actually dropped
+ * except for an event racing the queue filling up between the check and the offer.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent eventObject) {
+        if (!isStarted()) {
+            return;
+        }
+        var remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(eventObject)) {
+            discarded.increment();
+            return;
+        }
+        if (remaining == 0 && isNeverBlock()) {
+            rejected.increment();
+            return;
+        }
+        super.append(eventObject);
+    }
+
+    /**
+     * Low-severity events dropped because the queue went over the discarding threshold.
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * Events of any level dropped because the queue was full and the appender is set to never block.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,16 @@
+package com.bernardoms.timetravelapi.mapper;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TimeTravelMapper {
+    public TimeTravelDTO toDTO(TimeTravel timeTravel) {
+        return new TimeTravelDTO(timeTravel.getPgi(), timeTravel.getPlace(), timeTravel.getDate());
+    }
+
+    public TimeTravel toEntity(TimeTravelDTO timeTravelDTO) {
+        return new TimeTravel(null, timeTravelDTO.getPgi(), timeTravelDTO.getPlace(), timeTravelDTO.getDate());
+    }
+}
@@ -0,0 +1,54 @@
+package com.bernardoms.timetravelapi.migration;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the compact fields to travels still in the legacy shape. The legacy fields stay, since the unique legacy index
+ * would make rewritten travels collide on its keys otherwise; once every travel has the compact ones the legacy indexes
+ * are dropped, and the {@link LegacyTravelFieldsMigration} removes the legacy fields.
+ */
+@Component
+@Slf4j
+public class CompactTravelsMigration implements TravelMigration {
+    public static final int VERSION = 1;
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getDescription() {
+        return "compact travel documents";
+    }
+
+    @Override
+    public Criteria pending() {
+        return Criteria.where("p").exists(false);
+    }
+
+    @Override
+    public Update migrate(Document travel) {
+        return new Update()
+                .set("p", travel.get(LegacyTravelDocuments.PGI))
+                .set("l", travel.get(LegacyTravelDocuments.PLACE))
+                .set("d", LegacyTravelDocuments.epochDay(travel.get(LegacyTravelDocuments.DATE)));
+    }
+
+    @Override
+    public void complete(MongoTemplate mongoTemplate) {
+        var indexOperations = mongoTemplate.indexOps(TimeTravel.class);
+        indexOperations.getIndexInfo().stream()
+                .filter(index -> LegacyTravelDocuments.INDEXES.contains(index.getName()))
+                .forEach(index -> {
+                    indexOperations.dropIndex(index.getName());
+                    log.info("legacy travel index {} dropped", index.getName());
+                });
+    }
+}
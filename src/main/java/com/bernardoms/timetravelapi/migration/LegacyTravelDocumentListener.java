@@ -0,0 +1,35 @@
+package com.bernardoms.timetravelapi.migration;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets travels not yet rewritten by the {@link CompactTravelsMigration} be read, by renaming their fields before mapping.
+ * Queries filtering on pgi or date only match rewritten travels. While the {@link LegacyTravelIndexes} are there, travels
+ * are also written with the legacy fields, so that the unique legacy index still refuses a pair held by a legacy travel.
+ */
+@Component
+@RequiredArgsConstructor
+public class LegacyTravelDocumentListener extends AbstractMongoEventListener<TimeTravel> {
+    private final LegacyTravelIndexes legacyTravelIndexes;
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<TimeTravel> event) {
+        var document = event.getDocument();
+        if (document != null && !legacyTravelIndexes.isDropped()) {
+            LegacyTravelDocuments.withLegacyFields(document);
+        }
+    }
+
+    @Override
+    public void onAfterLoad(AfterLoadEvent<TimeTravel> event) {
+        var document = event.getDocument();
+        if (document != null && LegacyTravelDocuments.isLegacy(document)) {
+            LegacyTravelDocuments.toCompact(document);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.bernardoms.timetravelapi.migration;
+
+import org.bson.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The shape travels were stored in before the compact schema: full field names, the date as a datetime at the start of
+ * the day in the server zone, and a {@code _class} field.
+ */
+public final class LegacyTravelDocuments {
+    public static final String PGI = "pgi";
+    public static final String PLACE = "place";
+    public static final String DATE = "date";
+    public static final String CLASS = "_class";
+    /**
+     * Indexes on the legacy fields. The unique one keeps legacy travels apart until they are all migrated, and would
+     * make compact-only travels collide on its missing keys, so travels are written in both shapes until it is gone.
+     */
+    public static final List<String> INDEXES = List.of("pgi_date", "pgi_date_place");
+
+    private LegacyTravelDocuments() {
+    }
+
+    public static boolean isLegacy(Document document) {
+        return document.containsKey(PGI) || document.containsKey(PLACE) || document.containsKey(DATE);
+    }
+
+    /**
+     * Renames the legacy fields of a travel in place; the date is left for the converters to read.
+     */
+    public static void toCompact(Document document) {
+        move(document, PGI, "p");
+        move(document, PLACE, "l");
+        move(document, DATE, "d");
+        document.remove(CLASS);
+    }
+
+    /**
+     * Copies the compact fields of a travel under their legacy names, with the date as Spring Data wrote it.
+     */
+    public static void withLegacyFields(Document document) {
+        document.put(PGI, document.get("p"));
+        document.put(PLACE, document.get("l"));
+        var epochDay = document.get("d");
+        document.put(DATE, epochDay instanceof Number
+                ? Date.from(LocalDate.ofEpochDay(((Number) epochDay).longValue()).atStartOfDay(ZoneId.systemDefault()).toInstant())
+                : null);
+    }
+
+    /**
+     * Reads a legacy date the way Spring Data wrote it, at the start of the day in the server zone.
+     */
+    public static Integer epochDay(Object date) {
+        if (date instanceof Date) {
+            return Math.toIntExact(LocalDateTime.ofInstant(((Date) date).toInstant(), ZoneId.systemDefault()).toLocalDate().toEpochDay());
+        }
+        return date instanceof Number ? ((Number) date).intValue() : null;
+    }
+
+    private static void move(Document document, String from, String to) {
+        if (document.containsKey(from)) {
+            document.putIfAbsent(to, document.remove(from));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.bernardoms.timetravelapi.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes the legacy fields from travels that have the compact ones, once the {@link CompactTravelsMigration} has
+ * dropped the legacy indexes. Travels only in the legacy shape, left by a conflict, keep them.
+ */
+@Component
+public class LegacyTravelFieldsMigration implements TravelMigration {
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public String getDescription() {
+        return "drop legacy travel fields";
+    }
+
+    @Override
+    public Criteria pending() {
+        return Criteria.where(LegacyTravelDocuments.PGI).exists(true).and("p").exists(true);
+    }
+
+    @Override
+    public Update migrate(Document travel) {
+        return new Update()
+                .unset(LegacyTravelDocuments.PGI)
+                .unset(LegacyTravelDocuments.PLACE)
+                .unset(LegacyTravelDocuments.DATE)
+                .unset(LegacyTravelDocuments.CLASS);
+    }
+}
@@ -0,0 +1,16 @@
+package com.bernardoms.timetravelapi.migration;
+
+import java.time.Duration;
+
+/**
+ * Tells whether the indexes on legacy travel fields, see {@link LegacyTravelDocuments#INDEXES}, are gone. They are kept
+ * until the {@link CompactTravelsMigration} is done, and travels are written in both shapes meanwhile.
+ */
+public interface LegacyTravelIndexes {
+    /**
+     * How often the checkpoint of the {@link CompactTravelsMigration} is read until it is done.
+     */
+    Duration REFRESH = Duration.ofSeconds(30);
+
+    boolean isDropped();
+}
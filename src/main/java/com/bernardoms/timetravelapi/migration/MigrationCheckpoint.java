@@ -0,0 +1,48 @@
+package com.bernardoms.timetravelapi.migration;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Progress of one migration, saved after every batch so that it resumes where it stopped.
+ */
+@Data
+@Document(collection = MigrationCheckpoint.COLLECTION)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MigrationCheckpoint {
+    public static final String COLLECTION = "migrations";
+
+    @Id
+    private Integer version;
+    private String description;
+    private Status status;
+    /**
+     * Last travel rewritten; its timestamp tells how far along the collection the migration is.
+     */
+    @JsonSerialize(using = ToStringSerializer.class)
+    private ObjectId lastId;
+    private long migrated;
+    private long conflicts;
+    private int batchSize;
+    private long pauseMillis;
+    private String owner;
+    private Instant leaseUntil;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant finishedAt;
+
+    public enum Status {
+        RUNNING, DONE
+    }
+}
@@ -0,0 +1,237 @@
+package com.bernardoms.timetravelapi.migration;
+
+import com.bernardoms.timetravelapi.config.MigrationProperties;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the pending {@link TravelMigration}s in the background once the app is ready, batch by batch, saving a
+ * {@link MigrationCheckpoint} after each one. Every half lease until they are all done, the instance tries again, so
+ * that it takes over a migration whose owner stopped renewing its lease. Travels that would clash with another one once rewritten are counted as
+ * conflicts and left as they are.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(value = "travel.migrations.enabled", havingValue = "true")
+@Slf4j
+public class MigrationRunner {
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final List<TravelMigration> migrations;
+    private final MigrationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "travel-migrations");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running = true;
+
+    public MigrationRunner(MongoTemplate mongoTemplate, List<TravelMigration> migrations, MigrationProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrations = migrations;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(() -> {
+            if (runAll()) {
+                executor.shutdown();
+            }
+        }, 0, properties.getLease().dividedBy(2).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return whether every migration is done
+     */
+    public boolean runAll() {
+        try {
+            for (TravelMigration migration : sorted()) {
+                if (!run(migration)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.error("migrations stopped, they resume from their last checkpoint on the next attempt", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return whether the migration is done, so that the next one may run
+     */
+    boolean run(TravelMigration migration) {
+        var checkpoint = mongoTemplate.findById(migration.getVersion(), MigrationCheckpoint.class);
+        if (checkpoint != null && checkpoint.getStatus() == MigrationCheckpoint.Status.DONE) {
+            return true;
+        }
+        checkpoint = acquire(migration);
+        if (checkpoint == null) {
+            log.info("migration {} is run by another instance, trying again in {}", migration.getVersion(), properties.getLease().dividedBy(2));
+            return false;
+        }
+        log.info("migration {} ({}) running from {}", migration.getVersion(), migration.getDescription(), checkpoint.getLastId());
+        var collection = mongoTemplate.getCollectionName(TimeTravel.class);
+        var throttle = new MigrationThrottle(properties, meterRegistry);
+        var lastId = checkpoint.getLastId();
+        while (running) {
+            var batch = mongoTemplate.find(pendingAfter(migration, lastId, throttle.getBatchSize()), Document.class, collection);
+            if (batch.isEmpty()) {
+                migration.complete(mongoTemplate);
+                finish(migration);
+                return true;
+            }
+            var conflicts = apply(migration, collection, batch);
+            lastId = batch.get(batch.size() - 1).getObjectId("_id");
+            meterRegistry.counter("travel.migration.documents", "version", String.valueOf(migration.getVersion()), "outcome", "migrated")
+                    .increment(batch.size() - conflicts);
+            meterRegistry.counter("travel.migration.documents", "version", String.valueOf(migration.getVersion()), "outcome", "conflict")
+                    .increment(conflicts);
+            throttle.afterBatch();
+            if (!checkpoint(migration, lastId, batch.size() - conflicts, conflicts, throttle)) {
+                log.warn("migration {} lease lost, another instance carries on", migration.getVersion());
+                return false;
+            }
+            if (!pause(throttle)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private List<TravelMigration> sorted() {
+        var sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(TravelMigration::getVersion));
+        return sorted;
+    }
+
+    private MigrationCheckpoint acquire(TravelMigration migration) {
+        var now = Instant.now();
+        var query = Query.query(Criteria.where("_id").is(migration.getVersion())
+                .and("status").ne(MigrationCheckpoint.Status.DONE)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("leaseUntil").lt(now)));
+        var update = new Update()
+                .set("owner", owner)
+                .set("leaseUntil", now.plus(properties.getLease()))
+                .set("status", MigrationCheckpoint.Status.RUNNING)
+                .setOnInsert("description", migration.getDescription())
+                .setOnInsert("startedAt", now);
+        try {
+            return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    MigrationCheckpoint.class);
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    private static Query pendingAfter(TravelMigration migration, ObjectId lastId, int limit) {
+        var criteria = migration.pending();
+        if (lastId != null) {
+            criteria = new Criteria().andOperator(criteria, Criteria.where("_id").gt(lastId));
+        }
+        return Query.query(criteria)
+                .with(Sort.by("_id"))
+                .limit(limit);
+    }
+
+    /**
+     * @return how many travels of the batch were left as they are because of a conflict
+     */
+    private int apply(TravelMigration migration, String collection, List<Document> batch) {
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        batch.forEach(travel -> bulk.updateOne(Query.query(Criteria.where("_id").is(travel.get("_id"))), migration.migrate(travel)));
+        try {
+            bulk.execute();
+            return 0;
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                log.warn("migration {} left travel {} as it is, it clashes with another one", migration.getVersion(),
+                        batch.get(error.getIndex()).get("_id"));
+            }
+            return e.getErrors().size();
+        }
+    }
+
+    private boolean checkpoint(TravelMigration migration, ObjectId lastId, long migrated, long conflicts, MigrationThrottle throttle) {
+        var now = Instant.now();
+        var update = new Update()
+                .set("lastId", lastId)
+                .inc("migrated", migrated)
+                .inc("conflicts", conflicts)
+                .set("batchSize", throttle.getBatchSize())
+                .set("pauseMillis", throttle.getPause().toMillis())
+                .set("updatedAt", now)
+                .set("leaseUntil", now.plus(properties.getLease()));
+        return mongoTemplate.updateFirst(owned(migration), update, MigrationCheckpoint.class).getMatchedCount() > 0;
+    }
+
+    private void finish(TravelMigration migration) {
+        var now = Instant.now();
+        var update = new Update()
+                .set("status", MigrationCheckpoint.Status.DONE)
+                .set("updatedAt", now)
+                .set("finishedAt", now)
+                .unset("owner")
+                .unset("leaseUntil");
+        mongoTemplate.updateFirst(owned(migration), update, MigrationCheckpoint.class);
+        log.info("migration {} ({}) done", migration.getVersion(), migration.getDescription());
+    }
+
+    private Query owned(TravelMigration migration) {
+        return Query.query(Criteria.where("_id").is(migration.getVersion()).and("owner").is(owner));
+    }
+
+    private boolean pause(MigrationThrottle throttle) {
+        try {
+            Thread.sleep(throttle.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bernardoms.timetravelapi.migration;
+
+import com.bernardoms.timetravelapi.config.MigrationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes migration batches from the latency of the requests served meanwhile: over budget the batch is halved and the
+ * pause doubled, within budget they move back towards the configured ones step by step.
+ */
+public class MigrationThrottle {
+    static final String REQUESTS = "http.server.requests";
+
+    private final MigrationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private int batchSize;
+    private Duration pause;
+    private long requests;
+    private double requestNanos;
+
+    public MigrationThrottle(MigrationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = properties.getBatchSize();
+        this.pause = properties.getPause();
+        averageRequestNanos();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Duration getPause() {
+        return pause;
+    }
+
+    public void afterBatch() {
+        if (averageRequestNanos() > properties.getLatencyBudget().toNanos()) {
+            batchSize = Math.max(properties.getMinBatchSize(), batchSize / 2);
+            var doubled = pause.isZero() ? Duration.ofMillis(10) : pause.multipliedBy(2);
+            pause = doubled.compareTo(properties.getMaxPause()) > 0 ? properties.getMaxPause() : doubled;
+        } else {
+            batchSize = Math.min(properties.getBatchSize(), batchSize + properties.getMinBatchSize());
+            var halved = pause.dividedBy(2);
+            pause = halved.compareTo(properties.getPause()) < 0 ? properties.getPause() : halved;
+        }
+    }
+
+    /**
+     * Average latency of the requests served since the previous call, 0 when there were none.
+     */
+    private double averageRequestNanos() {
+        var count = 0L;
+        var nanos = 0D;
+        for (Timer timer : meterRegistry.find(REQUESTS).timers()) {
+            count += timer.count();
+            nanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        var served = count - requests;
+        var average = served > 0 ? (nanos - requestNanos) / served : 0;
+        requests = count;
+        requestNanos = nanos;
+        return average;
+    }
+}
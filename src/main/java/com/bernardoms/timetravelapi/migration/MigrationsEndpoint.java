@@ -0,0 +1,28 @@
+package com.bernardoms.timetravelapi.migration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Progress of every migration started so far, whichever instance runs it.
+ */
+@Component
+@Profile("!reactive")
+@Endpoint(id = "migrations")
+@RequiredArgsConstructor
+public class MigrationsEndpoint {
+    private final MongoTemplate mongoTemplate;
+
+    @ReadOperation
+    public List<MigrationCheckpoint> migrations() {
+        return mongoTemplate.find(new Query().with(Sort.by("_id")), MigrationCheckpoint.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.bernardoms.timetravelapi.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the checkpoint of the {@link CompactTravelsMigration} in the background until it is done.
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class MongoLegacyTravelIndexes implements LegacyTravelIndexes {
+    private final MongoTemplate mongoTemplate;
+    private final ScheduledExecutorService refreshes = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "legacy-travel-indexes");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean dropped;
+
+    public MongoLegacyTravelIndexes(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        refreshes.scheduleWithFixedDelay(this::refresh, 0, REFRESH.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refreshes.shutdownNow();
+    }
+
+    @Override
+    public boolean isDropped() {
+        return dropped;
+    }
+
+    private void refresh() {
+        try {
+            var checkpoint = mongoTemplate.findById(CompactTravelsMigration.VERSION, MigrationCheckpoint.class);
+            if (checkpoint != null && checkpoint.getStatus() == MigrationCheckpoint.Status.DONE) {
+                dropped = true;
+                refreshes.shutdown();
+                log.info("legacy travel indexes dropped, travels are written in the compact shape only");
+            }
+        } catch (RuntimeException e) {
+            log.warn("migration {} checkpoint could not be read, travels are still written in both shapes",
+                    CompactTravelsMigration.VERSION, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bernardoms.timetravelapi.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+
+/**
+ * Reactive twin of {@link MongoLegacyTravelIndexes}. Reactive instances do not run migrations, they only follow the
+ * checkpoint written by the servlet ones.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveMongoLegacyTravelIndexes implements LegacyTravelIndexes {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private volatile boolean dropped;
+    private Disposable refreshes;
+
+    @PostConstruct
+    public void start() {
+        refreshes = Flux.interval(Duration.ZERO, REFRESH)
+                .concatMap(tick -> reactiveMongoTemplate.findById(CompactTravelsMigration.VERSION, MigrationCheckpoint.class)
+                        .onErrorResume(e -> {
+                            log.warn("migration {} checkpoint could not be read, travels are still written in both shapes",
+                                    CompactTravelsMigration.VERSION, e);
+                            return Mono.empty();
+                        }))
+                .filter(checkpoint -> checkpoint.getStatus() == MigrationCheckpoint.Status.DONE)
+                .next()
+                .subscribe(checkpoint -> {
+                    dropped = true;
+                    log.info("legacy travel indexes dropped, travels are written in the compact shape only");
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        refreshes.dispose();
+    }
+
+    @Override
+    public boolean isDropped() {
+        return dropped;
+    }
+}
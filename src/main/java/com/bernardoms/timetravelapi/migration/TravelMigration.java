@@ -0,0 +1,33 @@
+package com.bernardoms.timetravelapi.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * A versioned rewrite of the travels collection, applied online by the {@link MigrationRunner} in {@code _id} order.
+ * Migrations must be idempotent: after a crash the batch past the last checkpoint is applied again.
+ */
+public interface TravelMigration {
+
+    /**
+     * Unique; migrations run in ascending version order, each once it is done with the previous one.
+     */
+    int getVersion();
+
+    String getDescription();
+
+    /**
+     * Matches the travels still to rewrite, as raw documents.
+     */
+    Criteria pending();
+
+    Update migrate(Document travel);
+
+    /**
+     * Runs once no travel is pending, before the migration is saved as done; idempotent as well.
+     */
+    default void complete(MongoTemplate mongoTemplate) {
+    }
+}
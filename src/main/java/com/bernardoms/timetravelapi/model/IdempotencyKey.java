@@ -0,0 +1,41 @@
+package com.bernardoms.timetravelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * An {@code Idempotency-Key} sent with a travel creation, without a travel id while that request is in flight.
+ */
+@Data
+@Document(collection = "idempotency_keys")
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+    @Id
+    private String key;
+    /**
+     * Fingerprint of the request body, to tell a retry from a different request reusing the key.
+     */
+    private String request;
+    private ObjectId travelId;
+    /**
+     * The id the travel is saved under, chosen when the key is reserved so that an insert which did happen can be told
+     * apart from a paradox.
+     */
+    private ObjectId reservedTravelId;
+    /**
+     * When the request holding a pending key is given up on, so that a retry takes the key over.
+     */
+    private Instant pendingUntil;
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
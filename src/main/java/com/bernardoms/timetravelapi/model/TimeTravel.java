@@ -6,19 +6,39 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDate;
 
+/**
+ * Stored with one-letter field names, the date as an int and no {@code _class}: about 55 bytes per travel instead of
+ * 130. The unique index is sparse so that documents still in the legacy shape, see
+ * {@link com.bernardoms.timetravelapi.migration.LegacyTravelDocuments}, do not collide on missing keys.
+ */
 @Data
 @Document(collection = "travels")
+@CompoundIndexes({
+        @CompoundIndex(name = "p_d", def = "{'p': 1, 'd': 1}", unique = true, sparse = true),
+        @CompoundIndex(name = TimeTravel.TIMELINE_INDEX, def = "{'p': 1, 'd': 1, 'l': 1}")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class TimeTravel {
+    public static final String TIMELINE_INDEX = "p_d_l";
+
     @Id
     private ObjectId id;
+    @Field("p")
     private String pgi;
+    @Field("l")
     private String place;
+    /**
+     * Stored as its epoch day, see {@link com.bernardoms.timetravelapi.config.MongoSchemaConfig}.
+     */
+    @Field("d")
     private LocalDate date;
 }
@@ -0,0 +1,36 @@
+package com.bernardoms.timetravelapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Written when a travel is deleted, so that change stream listeners learn its (pgi, date) pair: the delete event of a
+ * travel only carries its id. Kept an hour, long enough for any listener resuming its stream.
+ */
+@Data
+@Document(collection = TravelDeletion.COLLECTION)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelDeletion {
+    public static final String COLLECTION = "travel_deletions";
+
+    @Id
+    private ObjectId travelId;
+    @Field("p")
+    private String pgi;
+    @Field("d")
+    private LocalDate date;
+    @Indexed(expireAfterSeconds = 3600)
+    private Instant deletedAt;
+}
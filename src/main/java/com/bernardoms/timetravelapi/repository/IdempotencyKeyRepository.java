@@ -0,0 +1,7 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.model.IdempotencyKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyKeyRepository extends MongoRepository<IdempotencyKey, String> {
+}
@@ -0,0 +1,7 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.model.IdempotencyKey;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveIdempotencyKeyRepository extends ReactiveMongoRepository<IdempotencyKey, String> {
+}
@@ -0,0 +1,11 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTimeTravelRepository extends ReactiveMongoRepository<TimeTravel, ObjectId>, ReactiveTimeTravelRepositoryCustom {
+    Flux<TimeTravel> findByIdGreaterThan(ObjectId id, Pageable pageable);
+}
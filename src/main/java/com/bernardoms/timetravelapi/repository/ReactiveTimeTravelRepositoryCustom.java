@@ -0,0 +1,20 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+public interface ReactiveTimeTravelRepositoryCustom {
+    Mono<TimeTravel> findTravel(ObjectId id);
+    Flux<TimeTravel> findAllBy(Pageable pageable);
+    Mono<Long> countTravels();
+    Flux<TimeTravel> streamTravels(String pgi, LocalDate from, LocalDate to);
+    Flux<TimeTravel> findTimeline(String pgi, LocalDate from, LocalDate to, LocalDate after, int limit);
+    Flux<ObjectId> streamIds();
+    Flux<TimeTravel> streamRecentKeys(int limit);
+    Mono<TimeTravel> findAndDeleteById(ObjectId id);
+}
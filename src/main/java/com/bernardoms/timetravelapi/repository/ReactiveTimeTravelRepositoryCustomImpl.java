@@ -0,0 +1,86 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.config.ListingProperties;
+import com.bernardoms.timetravelapi.config.MongoClientProperties;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.mongodb.ReadPreference;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+public class ReactiveTimeTravelRepositoryCustomImpl implements ReactiveTimeTravelRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReactiveMongoTemplate lookupMongoTemplate;
+    private final Duration listingMaxTime;
+
+    public ReactiveTimeTravelRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                                  ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory,
+                                                  MongoClientProperties mongoClientProperties,
+                                                  ListingProperties listingProperties,
+                                                  ApplicationContext applicationContext) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.listingMaxTime = listingProperties.getMaxTime();
+        var readPreference = ReadPreference.valueOf(mongoClientProperties.getLookupReadPreference());
+        if (readPreference.equals(ReadPreference.primary())) {
+            this.lookupMongoTemplate = reactiveMongoTemplate;
+        } else {
+            this.lookupMongoTemplate = new ReactiveMongoTemplate(reactiveMongoDatabaseFactory, reactiveMongoTemplate.getConverter());
+            lookupMongoTemplate.setReadPreference(readPreference);
+            lookupMongoTemplate.setApplicationContext(applicationContext);
+        }
+    }
+
+    @Override
+    public Mono<TimeTravel> findTravel(ObjectId id) {
+        var travel = lookupMongoTemplate.findById(id, TimeTravel.class);
+        return lookupMongoTemplate == reactiveMongoTemplate
+                ? travel
+                : travel.switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate.findById(id, TimeTravel.class)));
+    }
+
+    @Override
+    public Flux<TimeTravel> findAllBy(Pageable pageable) {
+        return lookupMongoTemplate.find(TimeTravelQueries.page(pageable, listingMaxTime), TimeTravel.class)
+                .onErrorMap(RuntimeException.class, TimeTravelQueries::translateTimeout);
+    }
+
+    @Override
+    public Mono<Long> countTravels() {
+        return lookupMongoTemplate.execute(TimeTravel.class,
+                collection -> collection.estimatedDocumentCount(TimeTravelQueries.estimatedCount(listingMaxTime)))
+                .next()
+                .onErrorMap(RuntimeException.class, TimeTravelQueries::translateTimeout);
+    }
+
+    @Override
+    public Flux<TimeTravel> streamTravels(String pgi, LocalDate from, LocalDate to) {
+        return reactiveMongoTemplate.find(TimeTravelQueries.export(pgi, from, to), TimeTravel.class);
+    }
+
+    @Override
+    public Flux<TimeTravel> findTimeline(String pgi, LocalDate from, LocalDate to, LocalDate after, int limit) {
+        return reactiveMongoTemplate.find(TimeTravelQueries.timeline(pgi, from, to, after, limit), TimeTravel.class);
+    }
+
+    @Override
+    public Flux<ObjectId> streamIds() {
+        return reactiveMongoTemplate.find(TimeTravelQueries.ids(), TimeTravel.class).map(TimeTravel::getId);
+    }
+
+    @Override
+    public Flux<TimeTravel> streamRecentKeys(int limit) {
+        return reactiveMongoTemplate.find(TimeTravelQueries.recentKeys(limit), TimeTravel.class);
+    }
+
+    @Override
+    public Mono<TimeTravel> findAndDeleteById(ObjectId id) {
+        return reactiveMongoTemplate.findAndRemove(TimeTravelQueries.key(id), TimeTravel.class);
+    }
+}
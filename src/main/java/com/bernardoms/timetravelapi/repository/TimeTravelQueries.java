@@ -0,0 +1,124 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import org.bson.types.ObjectId;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+final class TimeTravelQueries {
+    static final int EXPORT_BATCH_SIZE = 1000;
+
+    private TimeTravelQueries() {
+    }
+
+    static Query export(String pgi, LocalDate from, LocalDate to) {
+        var query = new Query();
+        if (pgi != null) {
+            query.addCriteria(Criteria.where("pgi").is(pgi));
+        }
+        if (from != null || to != null) {
+            var date = Criteria.where("date");
+            if (from != null) {
+                date.gte(from);
+            }
+            if (to != null) {
+                date.lte(to);
+            }
+            query.addCriteria(date);
+        }
+        return query
+                .with(Sort.by("id"))
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+    }
+
+    /**
+     * Reads every id from the _id index alone.
+     */
+    static Query ids() {
+        var query = new Query();
+        query.fields().include("id");
+        return query
+                .withHint("_id_")
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+    }
+
+    /**
+     * A page of the listing, without the ids the listing does not show, stopped by Mongo after {@code maxTime}.
+     */
+    static Query page(Pageable pageable, Duration maxTime) {
+        var query = new Query().with(pageable);
+        query.fields().exclude("id");
+        return query.maxTime(maxTime);
+    }
+
+    /**
+     * Counts the travels from the collection metadata instead of walking the _id index.
+     */
+    static EstimatedDocumentCountOptions estimatedCount(Duration maxTime) {
+        return new EstimatedDocumentCountOptions().maxTime(maxTime.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gives a query Mongo stopped for exceeding its max time a type of its own; the template leaves it uncategorized.
+     */
+    static RuntimeException translateTimeout(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoExecutionTimeoutException) {
+                return new QueryTimeoutException("listing travels took too long, narrow it or read it with ?cursor=", e);
+            }
+        }
+        return e;
+    }
+
+    /**
+     * Matches one travel. Not projected: the projection would name the compact fields and miss them on travels still
+     * in the legacy shape.
+     */
+    static Query key(ObjectId id) {
+        return new Query(Criteria.where("id").is(id));
+    }
+
+    /**
+     * Reads the {@code limit} most recent travels, newest first, whatever their shape.
+     */
+    static Query recentKeys(int limit) {
+        return new Query()
+                .with(Sort.by(Sort.Direction.DESC, "id"))
+                .limit(limit)
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+    }
+
+    /**
+     * Projects only indexed fields and hints the (pgi, date, place) index, so the query is covered by it.
+     */
+    static Query timeline(String pgi, LocalDate from, LocalDate to, LocalDate after, int limit) {
+        var date = Criteria.where("date");
+        if (after != null) {
+            date.gt(after);
+        }
+        if (from != null) {
+            date.gte(from);
+        }
+        if (to != null) {
+            date.lte(to);
+        }
+        var query = new Query(Criteria.where("pgi").is(pgi));
+        if (after != null || from != null || to != null) {
+            query.addCriteria(date);
+        }
+        query.fields().include("pgi").include("date").include("place").exclude("id");
+        return query
+                .with(Sort.by("date"))
+                .withHint(TimeTravel.TIMELINE_INDEX)
+                .limit(limit);
+    }
+}
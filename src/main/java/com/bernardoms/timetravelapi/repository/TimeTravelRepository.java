@@ -2,11 +2,14 @@ package com.bernardoms.timetravelapi.repository;
 
 import com.bernardoms.timetravelapi.model.TimeTravel;
 import org.bson.types.ObjectId;
-import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
-public interface TimeTravelRepository extends PagingAndSortingRepository<TimeTravel, ObjectId> {
+public interface TimeTravelRepository extends MongoRepository<TimeTravel, ObjectId>, TimeTravelRepositoryCustom {
     Optional<TimeTravel> findByPgiAndDate(String pgi, LocalDate date);
+    Slice<TimeTravel> findByIdGreaterThan(ObjectId id, Pageable pageable);
 }
@@ -0,0 +1,58 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface TimeTravelRepositoryCustom {
+    /**
+     * Reads a travel with the lookup read preference, going to the primary when a lagging secondary misses it.
+     */
+    Optional<TimeTravel> findTravel(ObjectId id);
+
+    /**
+     * Reads a page of travels, without their ids, with the lookup read preference.
+     */
+    Page<TimeTravel> findAllBy(Pageable pageable);
+
+    /**
+     * Inserts all travels with a single unordered bulk write.
+     *
+     * @return the positions in {@code travels} rejected by the unique (pgi, date) index
+     */
+    Set<Integer> insertUnordered(List<TimeTravel> travels);
+
+    /**
+     * Streams the travels matching the optional filters from a Mongo cursor; the caller must close the stream.
+     */
+    Stream<TimeTravel> streamTravels(String pgi, LocalDate from, LocalDate to);
+
+    /**
+     * Streams the id of every travel; the caller must close the stream.
+     */
+    Stream<ObjectId> streamIds();
+
+    /**
+     * Streams the (pgi, date) pair of the {@code limit} most recent travels; the caller must close the stream.
+     */
+    Stream<TimeTravel> streamRecentKeys(int limit);
+
+    /**
+     * Deletes a travel in a single round trip.
+     *
+     * @return the (pgi, date) pair of the deleted travel, empty when there was none
+     */
+    Optional<TimeTravel> findAndDeleteById(ObjectId id);
+
+    /**
+     * Returns up to {@code limit} travels of a traveler ordered by date, after the {@code after} date when given.
+     */
+    List<TimeTravel> findTimeline(String pgi, LocalDate from, LocalDate to, LocalDate after, int limit);
+}
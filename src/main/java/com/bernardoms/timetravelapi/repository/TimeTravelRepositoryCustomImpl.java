@@ -0,0 +1,113 @@
+package com.bernardoms.timetravelapi.repository;
+
+import com.bernardoms.timetravelapi.config.ListingProperties;
+import com.bernardoms.timetravelapi.config.MongoClientProperties;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.data.util.StreamUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class TimeTravelRepositoryCustomImpl implements TimeTravelRepositoryCustom {
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTemplate lookupMongoTemplate;
+    private final Duration listingMaxTime;
+
+    public TimeTravelRepositoryCustomImpl(MongoTemplate mongoTemplate, MongoDatabaseFactory mongoDatabaseFactory,
+                                          MongoClientProperties mongoClientProperties, ListingProperties listingProperties,
+                                          ApplicationContext applicationContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.listingMaxTime = listingProperties.getMaxTime();
+        var readPreference = ReadPreference.valueOf(mongoClientProperties.getLookupReadPreference());
+        if (readPreference.equals(ReadPreference.primary())) {
+            this.lookupMongoTemplate = mongoTemplate;
+        } else {
+            this.lookupMongoTemplate = new MongoTemplate(mongoDatabaseFactory, mongoTemplate.getConverter());
+            lookupMongoTemplate.setReadPreference(readPreference);
+            lookupMongoTemplate.setApplicationContext(applicationContext);
+        }
+    }
+
+    @Override
+    public Optional<TimeTravel> findTravel(ObjectId id) {
+        var travel = lookupMongoTemplate.findById(id, TimeTravel.class);
+        if (travel == null && lookupMongoTemplate != mongoTemplate) {
+            travel = mongoTemplate.findById(id, TimeTravel.class);
+        }
+        return Optional.ofNullable(travel);
+    }
+
+    @Override
+    public Page<TimeTravel> findAllBy(Pageable pageable) {
+        try {
+            var content = lookupMongoTemplate.find(TimeTravelQueries.page(pageable, listingMaxTime), TimeTravel.class);
+            return PageableExecutionUtils.getPage(content, pageable, () -> lookupMongoTemplate.execute(TimeTravel.class,
+                    collection -> collection.estimatedDocumentCount(TimeTravelQueries.estimatedCount(listingMaxTime))));
+        } catch (RuntimeException e) {
+            throw TimeTravelQueries.translateTimeout(e);
+        }
+    }
+
+    @Override
+    public Set<Integer> insertUnordered(List<TimeTravel> travels) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeTravel.class)
+                    .insert(travels)
+                    .execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            var duplicates = new HashSet<Integer>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY_CODE) {
+                    throw e;
+                }
+                duplicates.add(error.getIndex());
+            }
+            return duplicates;
+        }
+    }
+
+    @Override
+    public Stream<TimeTravel> streamTravels(String pgi, LocalDate from, LocalDate to) {
+        return StreamUtils.createStreamFromIterator(mongoTemplate.stream(TimeTravelQueries.export(pgi, from, to), TimeTravel.class));
+    }
+
+    @Override
+    public Stream<ObjectId> streamIds() {
+        return StreamUtils.createStreamFromIterator(mongoTemplate.stream(TimeTravelQueries.ids(), TimeTravel.class))
+                .map(TimeTravel::getId);
+    }
+
+    @Override
+    public Stream<TimeTravel> streamRecentKeys(int limit) {
+        return StreamUtils.createStreamFromIterator(mongoTemplate.stream(TimeTravelQueries.recentKeys(limit), TimeTravel.class));
+    }
+
+    @Override
+    public Optional<TimeTravel> findAndDeleteById(ObjectId id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(TimeTravelQueries.key(id), TimeTravel.class));
+    }
+
+    @Override
+    public List<TimeTravel> findTimeline(String pgi, LocalDate from, LocalDate to, LocalDate after, int limit) {
+        return mongoTemplate.find(TimeTravelQueries.timeline(pgi, from, to, after, limit), TimeTravel.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.bernardoms.timetravelapi.service;
+
+import com.bernardoms.timetravelapi.config.IdempotencyProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
+import com.bernardoms.timetravelapi.model.IdempotencyKey;
+import com.bernardoms.timetravelapi.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Holds the {@code Idempotency-Key}s of travel creations: the first request with a key reserves it along with the id
+ * its travel is saved under, and once it has saved its travel every retry is answered with that travel's id.
+ */
+@Component
+@Profile("!reactive")
+public class IdempotencyKeys {
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, IdempotencyKey> completed;
+
+    public IdempotencyKeys(IdempotencyKeyRepository idempotencyKeyRepository, IdempotencyProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.completed = completedKeys(properties);
+    }
+
+    /**
+     * @return the key with the id of the travel already saved with it, or a pending key the caller now holds: it must
+     * save the travel under {@link IdempotencyKey#getReservedTravelId()}, then {@link #complete} or {@link #release} it
+     */
+    public IdempotencyKey reserve(String key, TimeTravelDTO travel) throws IdempotencyKeyException {
+        var request = fingerprint(key, travel);
+        var known = completed.getIfPresent(key);
+        if (known != null) {
+            return replay(known, request, "local");
+        }
+        try {
+            return idempotencyKeyRepository.insert(pending(key, request, properties));
+        } catch (DuplicateKeyException e) {
+            var stored = idempotencyKeyRepository.findById(key).orElseThrow(() -> IdempotencyKeyException.inProgress(key));
+            if (stored.getTravelId() != null && stored.getRequest().equals(request)) {
+                completed.put(key, stored);
+            }
+            if (abandoned(stored, request)) {
+                return idempotencyKeyRepository.save(takenOver(stored, properties));
+            }
+            return replay(stored, request, "mongo");
+        }
+    }
+
+    public void complete(String key, TimeTravelDTO travel, String travelId) {
+        var done = done(key, fingerprint(key, travel), travelId, properties);
+        idempotencyKeyRepository.save(done);
+        completed.put(key, done);
+    }
+
+    public void release(String key) {
+        idempotencyKeyRepository.deleteById(key);
+    }
+
+    private IdempotencyKey replay(IdempotencyKey stored, String request, String source) throws IdempotencyKeyException {
+        if (!stored.getRequest().equals(request)) {
+            throw IdempotencyKeyException.reused(stored.getKey());
+        }
+        if (stored.getTravelId() == null) {
+            throw IdempotencyKeyException.inProgress(stored.getKey());
+        }
+        meterRegistry.counter("travel.idempotency.replays", "source", source).increment();
+        return stored;
+    }
+
+    static Cache<String, IdempotencyKey> completedKeys(IdempotencyProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getLocalCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * A pending key outlives its request for as long as a completed one, so that a retry after
+     * {@link IdempotencyProperties#getPendingTtl()} still saves under the same travel id.
+     */
+    static IdempotencyKey pending(String key, String request, IdempotencyProperties properties) {
+        var now = Instant.now();
+        return IdempotencyKey.builder()
+                .key(key)
+                .request(request)
+                .reservedTravelId(new ObjectId())
+                .pendingUntil(now.plus(properties.getPendingTtl()))
+                .expiresAt(now.plus(properties.getTtl()))
+                .build();
+    }
+
+    /**
+     * Whether a retry may take over a key whose request never finished; keys stored without a reserved travel id
+     * stay in progress until they expire.
+     */
+    static boolean abandoned(IdempotencyKey stored, String request) {
+        return stored.getTravelId() == null && stored.getRequest().equals(request) && stored.getReservedTravelId() != null
+                && stored.getPendingUntil() != null && stored.getPendingUntil().isBefore(Instant.now());
+    }
+
+    static IdempotencyKey takenOver(IdempotencyKey stored, IdempotencyProperties properties) {
+        return stored.toBuilder().pendingUntil(Instant.now().plus(properties.getPendingTtl())).build();
+    }
+
+    static IdempotencyKey done(String key, String request, String travelId, IdempotencyProperties properties) {
+        return IdempotencyKey.builder()
+                .key(key)
+                .request(request)
+                .travelId(new ObjectId(travelId))
+                .expiresAt(Instant.now().plus(properties.getTtl()))
+                .build();
+    }
+
+    static String fingerprint(String key, TimeTravelDTO travel) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        var request = travel.getPgi() + '\n' + travel.getPlace() + '\n' + travel.getDate();
+        return DigestUtils.md5DigestAsHex(request.getBytes(StandardCharsets.UTF_8));
+    }
+}
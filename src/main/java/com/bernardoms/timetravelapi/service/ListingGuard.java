@@ -0,0 +1,91 @@
+package com.bernardoms.timetravelapi.service;
+
+import com.bernardoms.timetravelapi.config.ListingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Refuses the listing requests Mongo could only answer with an unbounded page, a deep skip or an in-memory sort.
+ * Refusals and queries running out of {@code travel.listing.max-time} are counted as {@code travel.listing.rejected},
+ * tagged with the reason.
+ */
+@Component
+public class ListingGuard {
+    private final int maxPageSize;
+    private final long maxOffset;
+    private final Set<String> sorts;
+    private final Counter pageSizeRejections;
+    private final Counter offsetRejections;
+    private final Counter sortRejections;
+    private final Counter timeouts;
+
+    public ListingGuard(ListingProperties properties, MeterRegistry meterRegistry) {
+        this.maxPageSize = properties.getMaxPageSize();
+        this.maxOffset = properties.getMaxOffset();
+        this.sorts = properties.getSorts().stream().map(sort -> sort.replace(" ", "")).collect(Collectors.toCollection(LinkedHashSet::new));
+        this.pageSizeRejections = rejections(meterRegistry, "page_size");
+        this.offsetRejections = rejections(meterRegistry, "offset");
+        this.sortRejections = rejections(meterRegistry, "sort");
+        this.timeouts = rejections(meterRegistry, "timeout");
+    }
+
+    public void check(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            pageSizeRejections.increment();
+            throw new IllegalArgumentException("travels are listed in pages of at most " + maxPageSize);
+        }
+        checkSize(pageable.getPageSize());
+        if (pageable.getOffset() > maxOffset) {
+            offsetRejections.increment();
+            throw new IllegalArgumentException("pages past the first " + maxOffset + " travels are read with ?cursor=");
+        }
+        checkSort(pageable.getSort());
+    }
+
+    public void checkSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            pageSizeRejections.increment();
+            throw new IllegalArgumentException("size should be between 1 and " + maxPageSize);
+        }
+    }
+
+    /**
+     * Counts a listing query Mongo stopped for running too long.
+     */
+    public void timedOut() {
+        timeouts.increment();
+    }
+
+    private void checkSort(Sort sort) {
+        if (sort.isUnsorted()) {
+            return;
+        }
+        var direction = sort.iterator().next().getDirection();
+        var properties = new StringBuilder();
+        for (Sort.Order order : sort) {
+            if (order.getDirection() != direction || order.isIgnoreCase()) {
+                sortRejections.increment();
+                throw new IllegalArgumentException("sort properties should share one direction and be case sensitive");
+            }
+            properties.append(properties.length() == 0 ? "" : ",").append(order.getProperty());
+        }
+        if (!sorts.contains(properties.toString())) {
+            sortRejections.increment();
+            throw new IllegalArgumentException("travels can only be sorted by " + String.join(" or ", sorts));
+        }
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("travel.listing.rejected")
+                .description("Listing requests refused or stopped for costing too much")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.bernardoms.timetravelapi.service;
+
+import com.bernardoms.timetravelapi.config.IdempotencyProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
+import com.bernardoms.timetravelapi.model.IdempotencyKey;
+import com.bernardoms.timetravelapi.repository.ReactiveIdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive twin of {@link IdempotencyKeys}.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveIdempotencyKeys {
+    private final ReactiveIdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, IdempotencyKey> completed;
+
+    public ReactiveIdempotencyKeys(ReactiveIdempotencyKeyRepository idempotencyKeyRepository, IdempotencyProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.completed = IdempotencyKeys.completedKeys(properties);
+    }
+
+    /**
+     * Emits the key with the id of the travel already saved with it, or a pending key the caller now holds: it must
+     * save the travel under {@link IdempotencyKey#getReservedTravelId()}, then {@link #complete} or {@link #release} it.
+     */
+    public Mono<IdempotencyKey> reserve(String key, TimeTravelDTO travel) {
+        return Mono.defer(() -> {
+            var request = IdempotencyKeys.fingerprint(key, travel);
+            var known = completed.getIfPresent(key);
+            if (known != null) {
+                return replay(known, request, "local");
+            }
+            return idempotencyKeyRepository.insert(IdempotencyKeys.pending(key, request, properties))
+                    .onErrorResume(DuplicateKeyException.class, e -> idempotencyKeyRepository.findById(key)
+                            .switchIfEmpty(Mono.error(() -> IdempotencyKeyException.inProgress(key)))
+                            .flatMap(stored -> {
+                                if (stored.getTravelId() != null && stored.getRequest().equals(request)) {
+                                    completed.put(key, stored);
+                                }
+                                if (IdempotencyKeys.abandoned(stored, request)) {
+                                    return idempotencyKeyRepository.save(IdempotencyKeys.takenOver(stored, properties));
+                                }
+                                return replay(stored, request, "mongo");
+                            }));
+        });
+    }
+
+    public Mono<Void> complete(String key, TimeTravelDTO travel, String travelId) {
+        return Mono.defer(() -> {
+            var done = IdempotencyKeys.done(key, IdempotencyKeys.fingerprint(key, travel), travelId, properties);
+            return idempotencyKeyRepository.save(done)
+                    .doOnNext(saved -> completed.put(key, saved))
+                    .then();
+        });
+    }
+
+    public Mono<Void> release(String key) {
+        return idempotencyKeyRepository.deleteById(key);
+    }
+
+    private Mono<IdempotencyKey> replay(IdempotencyKey stored, String request, String source) {
+        if (!stored.getRequest().equals(request)) {
+            return Mono.error(IdempotencyKeyException.reused(stored.getKey()));
+        }
+        if (stored.getTravelId() == null) {
+            return Mono.error(IdempotencyKeyException.inProgress(stored.getKey()));
+        }
+        meterRegistry.counter("travel.idempotency.replays", "source", source).increment();
+        return Mono.just(stored);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bernardoms.timetravelapi.service;
+
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReactiveTimeTravelService {
+    Mono<String> saveTravel(TimeTravelDTO timeTravelDTO);
+    /**
+     * Saves a travel once per {@code idempotencyKey}, emitting the id of the first save to its retries; saves every
+     * time when there is no key.
+     */
+    Mono<String> saveTravel(TimeTravelDTO timeTravelDTO, String idempotencyKey);
+    Mono<List<BatchItemResultDTO>> saveTravels(Flux<TimeTravelDTO> timeTravelDTOs);
+    Mono<TimeTravelDTO> getTravel(ObjectId travelId);
+    Mono<Page<TimeTravelDTO>> getTravels(Pageable pageable);
+    Mono<CursorPageDTO<TimeTravelDTO>> getTravels(String cursor, int size);
+    Mono<CursorPageDTO<TimeTravelDTO>> getTravelerTimeline(String pgi, LocalDate from, LocalDate to, String cursor, int size);
+    Flux<TimeTravelDTO> streamTravels(String pgi, LocalDate from, LocalDate to);
+    Mono<Void> deleteTravel(ObjectId travelId);
+}
@@ -0,0 +1,204 @@
+package com.bernardoms.timetravelapi.service;
+
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.cache.TravelInvalidation;
+import com.bernardoms.timetravelapi.cache.TravelInvalidationBus;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.ParadoxException;
+import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.bernardoms.timetravelapi.repository.ReactiveTimeTravelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveTimeTravelServiceImpl implements ReactiveTimeTravelService {
+    private static final String TRAVEL_CACHE = "travel";
+
+    private final ReactiveTimeTravelRepository reactiveTimeTravelRepository;
+    private final TimeTravelMapper timeTravelMapper;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final CacheManager cacheManager;
+    private final NegativeTravelCache negativeTravelCache;
+    private final TravelInvalidationBus travelInvalidationBus;
+    private final ParadoxIndex paradoxIndex;
+    private final ReactiveIdempotencyKeys idempotencyKeys;
+    private final ListingGuard listingGuard;
+
+    public Mono<String> saveTravel(TimeTravelDTO timeTravelDTO) {
+        return saveTravel(timeTravelDTO, (ObjectId) null);
+    }
+
+    private Mono<String> saveTravel(TimeTravelDTO timeTravelDTO, ObjectId travelId) {
+        return Mono.defer(() -> {
+            if (paradoxIndex.contains(timeTravelDTO.getPgi(), timeTravelDTO.getDate())) {
+                return Mono.error(new ParadoxException(timeTravelDTO.getPgi(), timeTravelDTO.getPlace(), timeTravelDTO.getDate()));
+            }
+            var entity = timeTravelMapper.toEntity(timeTravelDTO);
+            entity.setId(travelId);
+            return reactiveTimeTravelRepository
+                    .insert(entity)
+                    .doOnNext(t -> {
+                        negativeTravelCache.markPresent(t.getId());
+                        paradoxIndex.add(t.getPgi(), t.getDate());
+                        travelCache().put(t.getId(), timeTravelMapper.toDTO(t));
+                        travelInvalidationBus.publish(TravelInvalidation.created(t));
+                    })
+                    .map(t -> t.getId().toString())
+                    .onErrorMap(DuplicateKeyException.class, e -> {
+                        paradoxIndex.add(timeTravelDTO.getPgi(), timeTravelDTO.getDate());
+                        return new ParadoxException(timeTravelDTO.getPgi(), timeTravelDTO.getPlace(), timeTravelDTO.getDate());
+                    });
+        });
+    }
+
+    public Mono<String> saveTravel(TimeTravelDTO timeTravelDTO, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return saveTravel(timeTravelDTO);
+        }
+        return idempotencyKeys.reserve(idempotencyKey, timeTravelDTO)
+                .flatMap(held -> {
+                    if (held.getTravelId() != null) {
+                        return Mono.just(held.getTravelId().toString());
+                    }
+                    var travelId = held.getReservedTravelId();
+                    return saveTravel(timeTravelDTO, travelId)
+                            // an earlier attempt holding this key may have saved the travel without completing the key
+                            .onErrorResume(ParadoxException.class, e -> reactiveTimeTravelRepository.findTravel(travelId)
+                                    .map(t -> travelId.toString())
+                                    .switchIfEmpty(Mono.error(e)))
+                            .onErrorResume(e -> idempotencyKeys.release(idempotencyKey).then(Mono.error(e)))
+                            .flatMap(saved -> idempotencyKeys.complete(idempotencyKey, timeTravelDTO, saved).thenReturn(saved));
+                });
+    }
+
+    public Mono<List<BatchItemResultDTO>> saveTravels(Flux<TimeTravelDTO> timeTravelDTOs) {
+        return timeTravelDTOs
+                .take(batchProperties.getMaxSize() + 1L)
+                .collectList()
+                .flatMap(travels -> {
+                    var batch = TravelBatch.prepare(travels, batchProperties.getMaxSize(), validator, timeTravelMapper::toEntity,
+                            t -> paradoxIndex.contains(t.getPgi(), t.getDate()));
+                    var pendingTravels = batch.getPendingTravels();
+
+                    return Flux.range(0, pendingTravels.size())
+                            .flatMap(i -> reactiveTimeTravelRepository
+                                    .insert(pendingTravels.get(i))
+                                    .doOnNext(t -> {
+                                        negativeTravelCache.markPresent(t.getId());
+                                        paradoxIndex.add(t.getPgi(), t.getDate());
+                                        travelInvalidationBus.publish(TravelInvalidation.created(t));
+                                        batch.created(i);
+                                    })
+                                    .onErrorResume(DuplicateKeyException.class, e -> {
+                                        paradoxIndex.add(pendingTravels.get(i).getPgi(), pendingTravels.get(i).getDate());
+                                        batch.paradox(i);
+                                        return Mono.empty();
+                                    }), batchProperties.getChunkSize())
+                            .then(Mono.fromSupplier(() -> {
+                                log.info("batch of {} travels processed, {} inserted", travels.size(), pendingTravels.size());
+                                return batch.getResults();
+                            }));
+                });
+    }
+
+    public Mono<TimeTravelDTO> getTravel(ObjectId travelId) {
+        return Mono.defer(() -> {
+            var cache = travelCache();
+            var cached = cache.get(travelId, TimeTravelDTO.class);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            if (negativeTravelCache.isKnownAbsent(travelId)) {
+                return Mono.error(new TravelNotFoundException(travelId));
+            }
+            return reactiveTimeTravelRepository
+                    .findTravel(travelId)
+                    .map(timeTravelMapper::toDTO)
+                    .doOnNext(t -> cache.put(travelId, t))
+                    .switchIfEmpty(Mono.defer(() -> {
+                        negativeTravelCache.markAbsent(travelId);
+                        return Mono.error(new TravelNotFoundException(travelId));
+                    }));
+        });
+    }
+
+    public Mono<Page<TimeTravelDTO>> getTravels(Pageable pageable) {
+        listingGuard.check(pageable);
+        return reactiveTimeTravelRepository
+                .findAllBy(pageable)
+                .map(timeTravelMapper::toDTO)
+                .collectList()
+                .zipWith(reactiveTimeTravelRepository.countTravels())
+                .<Page<TimeTravelDTO>>map(t -> new PageImpl<>(t.getT1(), pageable, t.getT2()))
+                .doOnError(QueryTimeoutException.class, e -> listingGuard.timedOut());
+    }
+
+    public Mono<CursorPageDTO<TimeTravelDTO>> getTravels(String cursor, int size) {
+        listingGuard.checkSize(size);
+        return reactiveTimeTravelRepository
+                .findByIdGreaterThan(TravelCursor.decode(cursor), PageRequest.of(0, size + 1, Sort.by("id")))
+                .collectList()
+                .map(travels -> TravelCursor.page(travels, size, timeTravelMapper::toDTO, t -> TravelCursor.encode(t.getId())));
+    }
+
+    public Mono<CursorPageDTO<TimeTravelDTO>> getTravelerTimeline(String pgi, LocalDate from, LocalDate to, String cursor, int size) {
+        listingGuard.checkSize(size);
+        return reactiveTimeTravelRepository
+                .findTimeline(pgi, from, to, TravelCursor.decodeDate(cursor), size + 1)
+                .collectList()
+                .map(travels -> TravelCursor.page(travels, size, timeTravelMapper::toDTO, t -> TravelCursor.encode(t.getDate())));
+    }
+
+    public Flux<TimeTravelDTO> streamTravels(String pgi, LocalDate from, LocalDate to) {
+        return reactiveTimeTravelRepository
+                .streamTravels(pgi, from, to)
+                .map(timeTravelMapper::toDTO);
+    }
+
+    public Mono<Void> deleteTravel(ObjectId travelId) {
+        return reactiveTimeTravelRepository
+                .findAndDeleteById(travelId)
+                .doOnNext(t -> {
+                    paradoxIndex.remove(t.getPgi(), t.getDate());
+                    travelInvalidationBus.publish(TravelInvalidation.deleted(t));
+                })
+                .then()
+                .doOnSuccess(v -> {
+                    travelCache().evict(travelId);
+                    negativeTravelCache.markAbsent(travelId);
+                    log.info("travel with id " + travelId + " deleted!");
+                });
+    }
+
+    private Cache travelCache() {
+        return cacheManager.getCache(TRAVEL_CACHE);
+    }
+}
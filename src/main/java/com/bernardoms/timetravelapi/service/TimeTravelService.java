@@ -1,15 +1,31 @@
 package com.bernardoms.timetravelapi.service;
 
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
 import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
 import com.bernardoms.timetravelapi.exception.ParadoxException;
 import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface TimeTravelService {
     String saveTravel(TimeTravelDTO timeTravelDTO) throws ParadoxException;
+    /**
+     * Saves a travel once per {@code idempotencyKey}, returning the id of the first save to its retries; saves
+     * every time when there is no key.
+     */
+    String saveTravel(TimeTravelDTO timeTravelDTO, String idempotencyKey) throws ParadoxException, IdempotencyKeyException;
+    List<BatchItemResultDTO> saveTravels(List<TimeTravelDTO> timeTravelDTOs);
     TimeTravelDTO getTravel(ObjectId travelId) throws TravelNotFoundException;
     Page<TimeTravelDTO> getTravels(Pageable pageable);
+    CursorPageDTO<TimeTravelDTO> getTravels(String cursor, int size);
+    CursorPageDTO<TimeTravelDTO> getTravelerTimeline(String pgi, LocalDate from, LocalDate to, String cursor, int size);
+    Stream<TimeTravelDTO> streamTravels(String pgi, LocalDate from, LocalDate to);
     void deleteTravel(ObjectId travelId);
 }
@@ -1,62 +1,195 @@
 package com.bernardoms.timetravelapi.service;
 
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.cache.TravelInvalidation;
+import com.bernardoms.timetravelapi.cache.TravelInvalidationBus;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
 import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
 import com.bernardoms.timetravelapi.exception.ParadoxException;
 import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
 import com.bernardoms.timetravelapi.model.TimeTravel;
 import com.bernardoms.timetravelapi.repository.TimeTravelRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
+@Profile("!reactive")
 @Service
 @Slf4j
 public class TimeTravelServiceImpl implements TimeTravelService {
+    private static final String TRAVEL_CACHE = "travel";
+
     private final TimeTravelRepository timeTravelRepository;
-    private final ModelMapper modelMapper;
+    private final TimeTravelMapper timeTravelMapper;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final NegativeTravelCache negativeTravelCache;
+    private final CacheManager cacheManager;
+    private final TravelInvalidationBus travelInvalidationBus;
+    private final ParadoxIndex paradoxIndex;
+    private final IdempotencyKeys idempotencyKeys;
+    private final ListingGuard listingGuard;
 
     public String saveTravel(TimeTravelDTO timeTravelDTO) throws ParadoxException {
-        Optional<TimeTravel> travelOptional = timeTravelRepository
-                .findByPgiAndDate(timeTravelDTO.getPgi(), timeTravelDTO.getDate());
+        return saveTravel(timeTravelDTO, (ObjectId) null);
+    }
 
-        if (travelOptional.isPresent()) {
-            throw new ParadoxException("Paradox detected! traveler with pgi " + timeTravelDTO.getPgi() + " already traveled to " + timeTravelDTO.getPlace() + " at date " +
-                    timeTravelDTO.getDate());
+    private String saveTravel(TimeTravelDTO timeTravelDTO, ObjectId travelId) throws ParadoxException {
+        if (paradoxIndex.contains(timeTravelDTO.getPgi(), timeTravelDTO.getDate())) {
+            throw new ParadoxException(timeTravelDTO.getPgi(), timeTravelDTO.getPlace(), timeTravelDTO.getDate());
+        }
+        try {
+            var entity = timeTravelMapper.toEntity(timeTravelDTO);
+            entity.setId(travelId);
+            var timeTravel = timeTravelRepository.insert(entity);
+            negativeTravelCache.markPresent(timeTravel.getId());
+            paradoxIndex.add(timeTravel.getPgi(), timeTravel.getDate());
+            travelCache().put(timeTravel.getId(), timeTravelMapper.toDTO(timeTravel));
+            travelInvalidationBus.publish(TravelInvalidation.created(timeTravel));
+            return timeTravel.getId().toString();
+        } catch (DuplicateKeyException e) {
+            paradoxIndex.add(timeTravelDTO.getPgi(), timeTravelDTO.getDate());
+            throw new ParadoxException(timeTravelDTO.getPgi(), timeTravelDTO.getPlace(), timeTravelDTO.getDate());
         }
+    }
 
-        return timeTravelRepository
-                .save(modelMapper.map(timeTravelDTO, TimeTravel.class))
-                .getId()
-                .toString();
+    public String saveTravel(TimeTravelDTO timeTravelDTO, String idempotencyKey) throws ParadoxException, IdempotencyKeyException {
+        if (idempotencyKey == null) {
+            return saveTravel(timeTravelDTO);
+        }
+        var held = idempotencyKeys.reserve(idempotencyKey, timeTravelDTO);
+        if (held.getTravelId() != null) {
+            return held.getTravelId().toString();
+        }
+        var travelId = held.getReservedTravelId();
+        try {
+            saveTravel(timeTravelDTO, travelId);
+        } catch (ParadoxException e) {
+            // an earlier attempt holding this key may have saved the travel without completing the key
+            if (timeTravelRepository.findTravel(travelId).isEmpty()) {
+                idempotencyKeys.release(idempotencyKey);
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            idempotencyKeys.release(idempotencyKey);
+            throw e;
+        }
+        idempotencyKeys.complete(idempotencyKey, timeTravelDTO, travelId.toString());
+        return travelId.toString();
+    }
+
+    public List<BatchItemResultDTO> saveTravels(List<TimeTravelDTO> timeTravelDTOs) {
+        var batch = TravelBatch.prepare(timeTravelDTOs, batchProperties.getMaxSize(), validator, timeTravelMapper::toEntity,
+                t -> paradoxIndex.contains(t.getPgi(), t.getDate()));
+        var pendingTravels = batch.getPendingTravels();
+
+        for (int start = 0; start < pendingTravels.size(); start += batchProperties.getChunkSize()) {
+            var chunk = pendingTravels.subList(start, Math.min(start + batchProperties.getChunkSize(), pendingTravels.size()));
+            var duplicates = timeTravelRepository.insertUnordered(chunk);
+            for (int j = 0; j < chunk.size(); j++) {
+                var timeTravel = chunk.get(j);
+                paradoxIndex.add(timeTravel.getPgi(), timeTravel.getDate());
+                if (duplicates.contains(j)) {
+                    batch.paradox(start + j);
+                } else {
+                    negativeTravelCache.markPresent(timeTravel.getId());
+                    travelInvalidationBus.publish(TravelInvalidation.created(timeTravel));
+                    batch.created(start + j);
+                }
+            }
+        }
+
+        log.info("batch of {} travels processed, {} inserted", timeTravelDTOs.size(), pendingTravels.size());
+        return batch.getResults();
     }
 
-    @Cacheable(cacheNames = "travel")
+    @Cacheable(cacheNames = TRAVEL_CACHE)
     public TimeTravelDTO getTravel(ObjectId travelId) throws TravelNotFoundException {
-        var timeTravel = timeTravelRepository
-                .findById(travelId)
-                .orElseThrow(() -> new TravelNotFoundException("Travel with id " + travelId + " not found!"));
-        return modelMapper.map(timeTravel, TimeTravelDTO.class);
+        if (negativeTravelCache.isKnownAbsent(travelId)) {
+            throw new TravelNotFoundException(travelId);
+        }
+        var timeTravel = timeTravelRepository.findTravel(travelId);
+        if (timeTravel.isEmpty()) {
+            negativeTravelCache.markAbsent(travelId);
+            throw new TravelNotFoundException(travelId);
+        }
+        return timeTravelMapper.toDTO(timeTravel.get());
     }
 
     public Page<TimeTravelDTO> getTravels(Pageable pageable) {
+        listingGuard.check(pageable);
+        try {
+            return timeTravelRepository
+                    .findAllBy(pageable)
+                    .map(timeTravelMapper::toDTO);
+        } catch (QueryTimeoutException e) {
+            listingGuard.timedOut();
+            throw e;
+        }
+    }
+
+    public CursorPageDTO<TimeTravelDTO> getTravels(String cursor, int size) {
+        listingGuard.checkSize(size);
+        var slice = timeTravelRepository
+                .findByIdGreaterThan(TravelCursor.decode(cursor), PageRequest.of(0, size, Sort.by("id")));
+        var content = slice.getContent();
+        return CursorPageDTO.<TimeTravelDTO>builder()
+                .content(slice.map(timeTravelMapper::toDTO).getContent())
+                .size(content.size())
+                .hasNext(slice.hasNext())
+                .next(slice.hasNext() ? TravelCursor.encode(content.get(content.size() - 1).getId()) : null)
+                .build();
+    }
+
+    public CursorPageDTO<TimeTravelDTO> getTravelerTimeline(String pgi, LocalDate from, LocalDate to, String cursor, int size) {
+        listingGuard.checkSize(size);
+        var travels = timeTravelRepository
+                .findTimeline(pgi, from, to, TravelCursor.decodeDate(cursor), size + 1);
+        return TravelCursor.page(travels, size, timeTravelMapper::toDTO, t -> TravelCursor.encode(t.getDate()));
+    }
+
+    public Stream<TimeTravelDTO> streamTravels(String pgi, LocalDate from, LocalDate to) {
         return timeTravelRepository
-                .findAll(pageable)
-                .map(t -> TimeTravelDTO.builder().pgi(t.getPgi()).place(t.getPlace()).date(t.getDate()).build());
+                .streamTravels(pgi, from, to)
+                .map(timeTravelMapper::toDTO);
     }
 
-    @CacheEvict(cacheNames = "travel")
+    @CacheEvict(cacheNames = TRAVEL_CACHE)
     public void deleteTravel(ObjectId travelId) {
-        timeTravelRepository
-                .deleteById(travelId);
+        var deleted = timeTravelRepository
+                .findAndDeleteById(travelId);
+        negativeTravelCache.markAbsent(travelId);
+        deleted.ifPresent(t -> {
+            paradoxIndex.remove(t.getPgi(), t.getDate());
+            travelInvalidationBus.publish(TravelInvalidation.deleted(t));
+        });
         log.info("travel with id " + travelId + " deleted!");
     }
+
+    private Cache travelCache() {
+        return cacheManager.getCache(TRAVEL_CACHE);
+    }
 }
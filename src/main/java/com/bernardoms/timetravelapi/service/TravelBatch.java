@@ -0,0 +1,98 @@
+package com.bernardoms.timetravelapi.service;
+
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.ParadoxException;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+class TravelBatch {
+    private final List<TimeTravelDTO> timeTravelDTOs;
+    private final BatchItemResultDTO[] results;
+    private final List<Integer> pendingIndexes = new ArrayList<>();
+    private final List<TimeTravel> pendingTravels = new ArrayList<>();
+
+    private TravelBatch(List<TimeTravelDTO> timeTravelDTOs) {
+        this.timeTravelDTOs = timeTravelDTOs;
+        this.results = new BatchItemResultDTO[timeTravelDTOs.size()];
+    }
+
+    /**
+     * Validates the travels and sets aside, as paradoxes, the ones repeating a (pgi, date) pair of the batch or known
+     * to be taken; the rest are mapped and given an id, ready to insert.
+     */
+    static TravelBatch prepare(List<TimeTravelDTO> timeTravelDTOs, int maxSize, Validator validator,
+                               Function<TimeTravelDTO, TimeTravel> mapper, Predicate<TimeTravelDTO> knownParadox) {
+        if (timeTravelDTOs.size() > maxSize) {
+            throw new IllegalArgumentException("batch should have at most " + maxSize + " travels");
+        }
+
+        var batch = new TravelBatch(timeTravelDTOs);
+        var seen = new HashSet<String>();
+
+        for (int i = 0; i < timeTravelDTOs.size(); i++) {
+            var timeTravelDTO = timeTravelDTOs.get(i);
+            var errors = validate(timeTravelDTO, validator);
+            if (!errors.isEmpty()) {
+                batch.results[i] = BatchItemResultDTO.builder().index(i).status(BatchItemResultDTO.Status.INVALID).errors(errors).build();
+            } else if (!seen.add(timeTravelDTO.getPgi() + '|' + timeTravelDTO.getDate()) || knownParadox.test(timeTravelDTO)) {
+                batch.results[i] = paradoxResult(i, timeTravelDTO);
+            } else {
+                var timeTravel = mapper.apply(timeTravelDTO);
+                timeTravel.setId(new ObjectId());
+                batch.pendingIndexes.add(i);
+                batch.pendingTravels.add(timeTravel);
+            }
+        }
+        return batch;
+    }
+
+    static String paradoxMessage(TimeTravelDTO timeTravelDTO) {
+        return ParadoxException.message(timeTravelDTO.getPgi(), timeTravelDTO.getPlace(), timeTravelDTO.getDate());
+    }
+
+    List<TimeTravel> getPendingTravels() {
+        return pendingTravels;
+    }
+
+    void created(int pendingPosition) {
+        int index = pendingIndexes.get(pendingPosition);
+        results[index] = BatchItemResultDTO.builder()
+                .index(index)
+                .status(BatchItemResultDTO.Status.CREATED)
+                .id(pendingTravels.get(pendingPosition).getId().toString())
+                .build();
+    }
+
+    void paradox(int pendingPosition) {
+        int index = pendingIndexes.get(pendingPosition);
+        results[index] = paradoxResult(index, timeTravelDTOs.get(index));
+    }
+
+    List<BatchItemResultDTO> getResults() {
+        return Arrays.asList(results);
+    }
+
+    private static Map<String, String> validate(TimeTravelDTO timeTravelDTO, Validator validator) {
+        if (timeTravelDTO == null) {
+            return Map.of("travel", "must not be null");
+        }
+        var errors = new HashMap<String, String>();
+        validator.validate(timeTravelDTO).forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+        return errors;
+    }
+
+    private static BatchItemResultDTO paradoxResult(int index, TimeTravelDTO timeTravelDTO) {
+        return BatchItemResultDTO.builder().index(index).status(BatchItemResultDTO.Status.PARADOX).description(paradoxMessage(timeTravelDTO)).build();
+    }
+}
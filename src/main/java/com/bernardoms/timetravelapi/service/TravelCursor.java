@@ -0,0 +1,71 @@
+package com.bernardoms.timetravelapi.service;
+
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque continuation tokens for keyset pagination: the url-safe base64 of the last returned sort key.
+ */
+final class TravelCursor {
+    static final ObjectId FIRST = new ObjectId(new byte[12]);
+
+    private TravelCursor() {
+    }
+
+    static String encode(ObjectId lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.toByteArray());
+    }
+
+    static String encode(LocalDate lastDate) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastDate.toEpochDay()).array());
+    }
+
+    static ObjectId decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST;
+        }
+        return new ObjectId(decodeBytes(cursor, 12));
+    }
+
+    static LocalDate decodeDate(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(ByteBuffer.wrap(decodeBytes(cursor, Long.BYTES)).getLong());
+    }
+
+    /**
+     * Builds a page from a query that fetched one travel more than {@code size} to know whether there is a next page.
+     */
+    static CursorPageDTO<TimeTravelDTO> page(List<TimeTravel> travels, int size, Function<TimeTravel, TimeTravelDTO> toDTO, Function<TimeTravel, String> cursorOf) {
+        var hasNext = travels.size() > size;
+        var content = hasNext ? travels.subList(0, size) : travels;
+        return CursorPageDTO.<TimeTravelDTO>builder()
+                .content(content.stream().map(toDTO).collect(Collectors.toList()))
+                .size(content.size())
+                .hasNext(hasNext)
+                .next(hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null)
+                .build();
+    }
+
+    private static byte[] decodeBytes(String cursor, int length) {
+        try {
+            var bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != length) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+            return bytes;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+}
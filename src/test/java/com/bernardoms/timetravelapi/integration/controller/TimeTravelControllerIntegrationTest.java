@@ -6,12 +6,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -81,6 +90,63 @@ class TimeTravelControllerIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.description", is("Paradox detected! traveler with pgi A12345 already traveled to London at date 2020-10-11")));
     }
 
+    @Test
+    void should_create_only_one_travel_when_concurrent_requests_have_same_pgi_and_date() throws Exception {
+        var newTravel = TimeTravelDTO.builder().pgi("C12345")
+                .date(LocalDate.of(2020, 10, 15))
+                .place("Paris").build();
+        var body = mapper.writeValueAsString(newTravel);
+        var requests = 20;
+        var executor = Executors.newFixedThreadPool(requests);
+        var start = new CountDownLatch(1);
+        var created = new AtomicInteger();
+        var conflicts = new AtomicInteger();
+
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    var status = mockMvc.perform(post(URL_PATH).content(body).contentType(MediaType.APPLICATION_JSON))
+                            .andReturn().getResponse().getStatus();
+                    if (status == HttpStatus.CREATED.value()) {
+                        created.incrementAndGet();
+                    } else if (status == HttpStatus.CONFLICT.value()) {
+                        conflicts.incrementAndGet();
+                    }
+                    return status;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, created.get());
+        assertEquals(requests - 1, conflicts.get());
+    }
+
+    @Test
+    void should_return_item_results_when_saving_batch() throws Exception {
+        var newTravel = TimeTravelDTO.builder().pgi("D12345")
+                .date(LocalDate.of(2020, 10, 20))
+                .place("Berlin").build();
+        var existingTravel = TimeTravelDTO.builder().pgi("A12346")
+                .date(LocalDate.of(2020, 10, 12))
+                .place("London").build();
+
+        mockMvc.perform(post(URL_PATH + "/batch")
+                .content(mapper.writeValueAsString(List.of(newTravel, newTravel, existingTravel)))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("PARADOX")))
+                .andExpect(jsonPath("$[2].status", is("PARADOX")));
+    }
+
     @Test
     void should_return_no_content_when_deleting_an_travel() throws Exception {
         mockMvc.perform(delete(URL_PATH + "/507f191e810c19729de860aa")).andExpect(status().isNoContent());
@@ -97,4 +163,30 @@ class TimeTravelControllerIntegrationTest extends IntegrationTest {
                 .andExpect(jsonPath("$.pageable.offset", is(0)))
                 .andExpect(jsonPath("$.last", is(false)));
     }
+
+    @Test
+    void should_return_ok_with_next_cursor_when_get_travels_with_cursor() throws Exception {
+        var firstPage = mockMvc.perform(get(URL_PATH).param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].pgi", is("A12345")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn();
+
+        var next = mapper.readTree(firstPage.getResponse().getContentAsString()).get("next").asText();
+
+        mockMvc.perform(get(URL_PATH).param("cursor", next).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].pgi", is("A12346")));
+    }
+
+    @Test
+    void should_stream_filtered_travels_when_exporting_as_csv() throws Exception {
+        mockMvc.perform(get(URL_PATH + "/export")
+                .param("pgi", "A12346")
+                .param("from", "2020-10-01")
+                .param("to", "2020-10-31")
+                .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("pgi,place,date\nA12346,London,2020-10-12\n"));
+    }
 }
@@ -0,0 +1,47 @@
+package com.bernardoms.timetravelapi.integration.controller;
+
+import com.bernardoms.timetravelapi.integration.IntegrationTest;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.core.Is.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class TravelerControllerIntegrationTest extends IntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static final String URL_PATH = "/v1/travelers";
+
+    @Test
+    void should_page_traveler_timeline_ordered_by_date() throws Exception {
+        mongoTemplate.save(TimeTravel.builder().pgi("T12345").place("Rome").date(LocalDate.of(2019, 5, 3)).build());
+        mongoTemplate.save(TimeTravel.builder().pgi("T12345").place("Paris").date(LocalDate.of(2019, 5, 1)).build());
+        mongoTemplate.save(TimeTravel.builder().pgi("T12345").place("Oslo").date(LocalDate.of(2019, 5, 2)).build());
+
+        var firstPage = mockMvc.perform(get(URL_PATH + "/T12345/travels").param("from", "2019-05-01").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].place", is("Paris")))
+                .andExpect(jsonPath("$.content[1].place", is("Oslo")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn();
+
+        var next = mapper.readTree(firstPage.getResponse().getContentAsString()).get("next").asText();
+
+        mockMvc.perform(get(URL_PATH + "/T12345/travels").param("from", "2019-05-01").param("size", "2").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].place", is("Rome")))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+}
@@ -0,0 +1,4 @@
+package com.bernardoms.timetravelapi.integration.load;
+
+class PlatformThreadsLoadTest extends RequestExecutionLoadTest {
+}
@@ -0,0 +1,105 @@
+package com.bernardoms.timetravelapi.integration.load;
+
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test comparing request execution models against the embedded Mongo. Run it with
+ * {@code ./mvnw test -Dtest='*ThreadsLoadTest' -Dload-test=true}; results are logged per concurrency level.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=1000"
+})
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+@Slf4j
+abstract class RequestExecutionLoadTest {
+    private static final int[] CONCURRENT_CONNECTIONS = {1000, 5000, 10000};
+    private static final int REQUESTS_PER_CONNECTION = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4))
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(Query.query(Criteria.where("pgi").is("L12345")), TimeTravel.class);
+        for (int day = 1; day <= 20; day++) {
+            mongoTemplate.save(TimeTravel.builder().pgi("L12345").place("London").date(LocalDate.of(2020, 1, day)).build());
+        }
+    }
+
+    @Test
+    void should_serve_all_requests_at_each_concurrency_level() throws Exception {
+        for (int connections : CONCURRENT_CONNECTIONS) {
+            var totalRequests = connections * REQUESTS_PER_CONNECTION;
+            var latencies = new long[totalRequests];
+            var failures = new AtomicInteger();
+            var inFlight = new Semaphore(connections);
+            var futures = new CompletableFuture<?>[totalRequests];
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/travels?page=0&size=10"))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            var start = System.nanoTime();
+            for (int i = 0; i < totalRequests; i++) {
+                inFlight.acquire();
+                var requestIndex = i;
+                var sentAt = System.nanoTime();
+                futures[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            latencies[requestIndex] = System.nanoTime() - sentAt;
+                            if (error != null || response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                            inFlight.release();
+                        });
+            }
+            CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+            var elapsedNanos = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            log.info("{} connections={} requests={} failures={} throughput={} req/s p50={} ms p99={} ms",
+                    getClass().getSimpleName(),
+                    connections,
+                    totalRequests,
+                    failures.get(),
+                    Math.round(totalRequests / (elapsedNanos / 1e9)),
+                    latencies[totalRequests / 2] / 1_000_000.0,
+                    latencies[(int) (totalRequests * 0.99) - 1] / 1_000_000.0);
+
+            assertEquals(0, failures.get());
+        }
+    }
+}
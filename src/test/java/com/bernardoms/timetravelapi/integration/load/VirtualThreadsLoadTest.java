@@ -0,0 +1,14 @@
+package com.bernardoms.timetravelapi.integration.load;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsLoadTest extends RequestExecutionLoadTest {
+    @BeforeAll
+    static void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need a Java 21+ runtime");
+    }
+}
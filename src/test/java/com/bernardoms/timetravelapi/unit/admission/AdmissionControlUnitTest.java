@@ -0,0 +1,125 @@
+package com.bernardoms.timetravelapi.unit.admission;
+
+import com.bernardoms.timetravelapi.admission.Admission;
+import com.bernardoms.timetravelapi.admission.AdmissionControl;
+import com.bernardoms.timetravelapi.admission.MongoPoolWaiters;
+import com.bernardoms.timetravelapi.admission.TokenBucket;
+import com.bernardoms.timetravelapi.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlUnitTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoPoolWaiters mongoPoolWaiters = new MongoPoolWaiters();
+
+    @Test
+    void should_allow_the_burst_then_one_token_per_interval() {
+        var bucket = new TokenBucket();
+
+        assertTrue(bucket.tryTake(0, SECOND, 2));
+        assertTrue(bucket.tryTake(0, SECOND, 2));
+        assertFalse(bucket.tryTake(0, SECOND, 2));
+        assertFalse(bucket.tryTake(SECOND / 2, SECOND, 2));
+        assertTrue(bucket.tryTake(SECOND, SECOND, 2));
+        assertFalse(bucket.tryTake(SECOND, SECOND, 2));
+        assertTrue(bucket.tryTake(10 * SECOND, SECOND, 2));
+        assertTrue(bucket.tryTake(10 * SECOND, SECOND, 2));
+        assertFalse(bucket.tryTake(10 * SECOND, SECOND, 2));
+    }
+
+    @Test
+    void should_match_the_first_route_with_the_method_and_path() {
+        var admissionControl = new AdmissionControl(properties(
+                route("GET", "/v1/travels/export", 0, 0),
+                route("GET", "/v1/travels/{travelId}", 0, 0),
+                route(null, "/v1/travelers/{pgi}/travels", 0, 0)), mongoPoolWaiters, meterRegistry);
+
+        assertEquals("GET /v1/travels/export", admissionControl.route("GET", "/v1/travels/export").getName());
+        assertEquals("GET /v1/travels/{travelId}", admissionControl.route("GET", "/v1/travels/5f4e6ab2c4a1b23a4c8e9d01").getName());
+        assertEquals("/v1/travelers/{pgi}/travels", admissionControl.route("POST", "/v1/travelers/A123/travels").getName());
+        assertEquals("default", admissionControl.route("DELETE", "/v1/travels/5f4e6ab2c4a1b23a4c8e9d01").getName());
+        assertEquals("default", admissionControl.route("GET", "/v1/travels").getName());
+        assertEquals("default", admissionControl.route("GET", "/v1/travels/").getName());
+        assertEquals("default", admissionControl.route("GET", "/v1/travels/a/b").getName());
+        assertEquals("default", admissionControl.route("GET", "/v1/travelers//travels").getName());
+    }
+
+    @Test
+    void should_rate_limit_each_client_on_its_own() {
+        var admissionControl = new AdmissionControl(properties(route("GET", "/v1/travels", 0.001, 0)), mongoPoolWaiters, meterRegistry);
+        var route = admissionControl.route("GET", "/v1/travels");
+
+        assertEquals(Admission.ADMITTED, admissionControl.admit(route, "a", null));
+        assertEquals(Admission.RATE_LIMITED, admissionControl.admit(route, "a", null));
+        assertEquals(Admission.ADMITTED, admissionControl.admit(route, "b", null));
+        assertEquals(2, meterRegistry.get("http.server.admission").tag("route", "GET /v1/travels").tag("outcome", "admitted").counter().count());
+        assertEquals(1, meterRegistry.get("http.server.admission").tag("route", "GET /v1/travels").tag("outcome", "rate_limited").counter().count());
+    }
+
+    @Test
+    void should_limit_the_requests_in_progress_until_released() {
+        var admissionControl = new AdmissionControl(properties(route("GET", "/v1/travels", 0, 1)), mongoPoolWaiters, meterRegistry);
+        var route = admissionControl.route("GET", "/v1/travels");
+
+        assertEquals(Admission.ADMITTED, admissionControl.admit(route, "a", null));
+        assertEquals(Admission.CONCURRENCY_LIMITED, admissionControl.admit(route, "b", null));
+        route.release();
+        assertEquals(Admission.ADMITTED, admissionControl.admit(route, "b", null));
+    }
+
+    @Test
+    void should_shed_sheddable_routes_only() {
+        var properties = properties(route("GET", "/v1/travels", 0, 0), route("POST", "/v1/travels", 0, 0));
+        properties.getRoutes().get(1).setSheddable(false);
+        properties.getShedding().setMaxQueueTime(Duration.ofSeconds(1));
+        properties.getShedding().setMaxMongoWaiters(1);
+        var admissionControl = new AdmissionControl(properties, mongoPoolWaiters, meterRegistry);
+        var list = admissionControl.route("GET", "/v1/travels");
+        var save = admissionControl.route("POST", "/v1/travels");
+        var queuedTooLong = String.valueOf(System.currentTimeMillis() - 5_000);
+
+        assertEquals(Admission.ADMITTED, admissionControl.admit(list, "a", String.valueOf(System.currentTimeMillis())));
+        assertEquals(Admission.SHED_QUEUE_TIME, admissionControl.admit(list, "a", queuedTooLong));
+        assertEquals(Admission.ADMITTED, admissionControl.admit(save, "a", queuedTooLong));
+
+        mongoPoolWaiters.connectionCheckOutStarted(null);
+        mongoPoolWaiters.connectionCheckOutStarted(null);
+        assertEquals(Admission.SHED_MONGO_POOL, admissionControl.admit(list, "a", null));
+        mongoPoolWaiters.connectionCheckedOut(null);
+        assertEquals(Admission.ADMITTED, admissionControl.admit(list, "a", null));
+    }
+
+    @Test
+    void should_read_the_queue_time_from_heroku_and_nginx_headers() {
+        var now = 1_600_000_010_000L;
+
+        assertEquals(10_000, AdmissionControl.queueTimeMillis("1600000000000", now));
+        assertEquals(9_500, AdmissionControl.queueTimeMillis("t=1600000000.500", now));
+        assertEquals(-1, AdmissionControl.queueTimeMillis(null, now));
+        assertEquals(-1, AdmissionControl.queueTimeMillis("yesterday", now));
+    }
+
+    private static AdmissionControlProperties properties(AdmissionControlProperties.Route... routes) {
+        var properties = new AdmissionControlProperties();
+        properties.setRoutes(List.of(routes));
+        return properties;
+    }
+
+    private static AdmissionControlProperties.Route route(String method, String path, double rate, int maxConcurrent) {
+        var route = new AdmissionControlProperties.Route();
+        route.setMethod(method);
+        route.setPath(path);
+        route.setRate(rate);
+        route.setMaxConcurrent(maxConcurrent);
+        return route;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.ChangeStreamHealth;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChangeStreamHealthUnitTest {
+
+    @Test
+    void should_double_the_backoff_up_to_a_minute_until_an_event_arrives() {
+        var health = new ChangeStreamHealth();
+        var failure = new IllegalStateException("cursor killed");
+
+        assertEquals(Duration.ofSeconds(1), health.failed(failure));
+        assertEquals(Duration.ofSeconds(2), health.failed(failure));
+        assertEquals(Duration.ofSeconds(4), health.failed(failure));
+        for (int i = 0; i < 10; i++) {
+            health.failed(failure);
+        }
+        assertEquals(Duration.ofMinutes(1), health.failed(failure));
+
+        health.received(new BsonDocument("_data", new BsonString("826")));
+
+        assertEquals(Duration.ofSeconds(1), health.failed(failure));
+    }
+
+    @Test
+    void should_be_down_from_a_failure_until_resubscribed_and_keep_the_last_resume_token() {
+        var health = new ChangeStreamHealth();
+        var resumeToken = new BsonDocument("_data", new BsonString("826"));
+
+        assertNull(health.resumeToken());
+        assertEquals(Status.UP, health.health().getStatus());
+
+        health.received(resumeToken);
+        health.failed(new IllegalStateException("cursor killed"));
+
+        assertEquals(Status.DOWN, health.health().getStatus());
+        assertEquals("cursor killed", health.health().getDetails().get("error"));
+        assertEquals(resumeToken, health.resumeToken());
+
+        health.resubscribed();
+
+        assertEquals(Status.UP, health.health().getStatus());
+    }
+}
@@ -0,0 +1,55 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.HotTravelKey;
+import com.bernardoms.timetravelapi.cache.HotTravelKeys;
+import com.bernardoms.timetravelapi.config.HotKeysProperties;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotTravelKeysUnitTest {
+
+    private HotTravelKeys hotTravelKeys(int capacity, long decayEvery) {
+        var properties = new HotKeysProperties();
+        properties.setCapacity(capacity);
+        properties.setSampleRate(1);
+        properties.setDecayEvery(decayEvery);
+        return new HotTravelKeys(properties);
+    }
+
+    @Test
+    void should_report_the_most_looked_up_ids_first() {
+        var hotTravelKeys = hotTravelKeys(10, 1_000);
+        var hot = new ObjectId();
+        var warm = new ObjectId();
+
+        for (int i = 0; i < 50; i++) {
+            hotTravelKeys.record(hot);
+            if (i % 2 == 0) {
+                hotTravelKeys.record(warm);
+            }
+            hotTravelKeys.record(new ObjectId());
+        }
+
+        var top = hotTravelKeys.top(2);
+        assertEquals(List.of(new HotTravelKey(hot.toHexString(), 50), new HotTravelKey(warm.toHexString(), 25)), top);
+        assertTrue(hotTravelKeys.share(2) >= 75.0 / 125);
+    }
+
+    @Test
+    void should_halve_counts_on_decay() {
+        var hotTravelKeys = hotTravelKeys(10, 10);
+        var hot = new ObjectId();
+
+        for (int i = 0; i < 10; i++) {
+            hotTravelKeys.record(hot);
+        }
+
+        assertEquals(List.of(new HotTravelKey(hot.toHexString(), 5)), hotTravelKeys.top(10));
+        assertEquals(1, hotTravelKeys.share(1));
+    }
+}
@@ -0,0 +1,72 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NegativeTravelCacheUnitTest {
+
+    @Test
+    void should_only_know_absent_ids_marked_as_absent_when_bloom_filter_is_disabled() {
+        var negativeTravelCache = new NegativeTravelCache(new NegativeCacheProperties());
+        var missing = new ObjectId();
+
+        assertFalse(negativeTravelCache.isKnownAbsent(missing));
+
+        negativeTravelCache.markAbsent(missing);
+        assertTrue(negativeTravelCache.isKnownAbsent(missing));
+
+        negativeTravelCache.markPresent(missing);
+        assertFalse(negativeTravelCache.isKnownAbsent(missing));
+    }
+
+    @Test
+    void should_know_ids_never_added_to_the_bloom_filter_are_absent_once_warmed_up() {
+        var properties = new NegativeCacheProperties();
+        properties.getBloomFilter().setEnabled(true);
+        properties.getBloomFilter().setExpectedIds(1000);
+        var negativeTravelCache = new NegativeTravelCache(properties);
+        var stored = new ObjectId();
+        var unknown = new ObjectId();
+
+        negativeTravelCache.markPresent(stored);
+        assertFalse(negativeTravelCache.isKnownAbsent(unknown));
+
+        negativeTravelCache.bloomFilterWarmedUp();
+        var saved = new ObjectId();
+        negativeTravelCache.markPresent(saved);
+
+        assertTrue(negativeTravelCache.isKnownAbsent(unknown));
+        assertFalse(negativeTravelCache.isKnownAbsent(stored));
+        assertFalse(negativeTravelCache.isKnownAbsent(saved));
+    }
+
+    @Test
+    void should_never_report_an_added_id_as_absent() {
+        var properties = new NegativeCacheProperties();
+        properties.getBloomFilter().setEnabled(true);
+        properties.getBloomFilter().setExpectedIds(10_000);
+        var negativeTravelCache = new NegativeTravelCache(properties);
+        var ids = new ObjectId[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new ObjectId();
+            negativeTravelCache.markPresent(ids[i]);
+        }
+        negativeTravelCache.bloomFilterWarmedUp();
+
+        for (ObjectId id : ids) {
+            assertFalse(negativeTravelCache.isKnownAbsent(id));
+        }
+        var falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!negativeTravelCache.isKnownAbsent(new ObjectId())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.OffHeapTravelCacheStore;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapTravelCacheStoreUnitTest {
+
+    @Test
+    void should_store_overwrite_and_evict_travels() {
+        var store = new OffHeapTravelCacheStore(100, 64, 4);
+        var id = new ObjectId();
+
+        assertTrue(store.put(id, new TimeTravelDTO("AB12", "São Paulo", LocalDate.of(1985, 10, 26))));
+        assertEquals(new TimeTravelDTO("AB12", "São Paulo", LocalDate.of(1985, 10, 26)), store.get(id));
+
+        assertTrue(store.put(id, new TimeTravelDTO("AB12", null, null)));
+        assertEquals(new TimeTravelDTO("AB12", null, null), store.get(id));
+        assertEquals(1, store.size());
+
+        store.evict(id);
+        assertNull(store.get(id));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void should_not_store_travels_larger_than_a_slot() {
+        var store = new OffHeapTravelCacheStore(100, 64, 4);
+        var id = new ObjectId();
+        store.put(id, new TimeTravelDTO("AB12", "London", LocalDate.of(2015, 10, 21)));
+
+        assertFalse(store.put(id, new TimeTravelDTO("AB12", "x".repeat(64), LocalDate.of(2015, 10, 21))));
+        assertNull(store.get(id));
+    }
+
+    @Test
+    void should_keep_recently_read_travels_when_full() {
+        var store = new OffHeapTravelCacheStore(4, 64, 1);
+        var hot = new ObjectId();
+        store.put(hot, travel(0));
+        var ids = new ArrayList<ObjectId>();
+        for (int i = 1; i < 4; i++) {
+            ids.add(new ObjectId());
+            store.put(ids.get(i - 1), travel(i));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            store.get(hot);
+            store.put(new ObjectId(), travel(10 + i));
+        }
+
+        assertEquals(4, store.size());
+        assertEquals(travel(0), store.get(hot));
+    }
+
+    @Test
+    void should_find_every_remaining_travel_after_random_puts_and_evictions() {
+        var store = new OffHeapTravelCacheStore(2_000, 64, 2);
+        var expected = new HashMap<ObjectId, TimeTravelDTO>();
+        var ids = new ArrayList<ObjectId>();
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < 20_000; i++) {
+            if (!ids.isEmpty() && random.nextInt(3) == 0) {
+                var id = ids.remove(random.nextInt(ids.size()));
+                store.evict(id);
+                expected.remove(id);
+            } else if (ids.size() < 1_000) {
+                var id = new ObjectId();
+                ids.add(id);
+                store.put(id, travel(i));
+                expected.put(id, travel(i));
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        expected.forEach((id, travel) -> assertEquals(travel, store.get(id)));
+    }
+
+    private static TimeTravelDTO travel(int i) {
+        return new TimeTravelDTO("PG" + i, "place " + i, LocalDate.ofEpochDay(i));
+    }
+}
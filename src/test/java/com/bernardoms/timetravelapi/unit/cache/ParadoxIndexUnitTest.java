@@ -0,0 +1,85 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParadoxIndexUnitTest {
+
+    private ParadoxIndex paradoxIndex(int maxEntries) {
+        var properties = new ParadoxIndexProperties();
+        properties.setMaxEntries(maxEntries);
+        return new ParadoxIndex(properties);
+    }
+
+    @Test
+    void should_tell_apart_pgis_and_dates() {
+        var paradoxIndex = paradoxIndex(100);
+        var date = LocalDate.of(2015, 10, 21);
+
+        paradoxIndex.add("Marty1", date);
+
+        assertTrue(paradoxIndex.contains("Marty1", date));
+        assertFalse(paradoxIndex.contains("marty1", date));
+        assertFalse(paradoxIndex.contains("Marty10", date));
+        assertFalse(paradoxIndex.contains("Marty1", date.plusDays(1)));
+
+        paradoxIndex.remove("Marty1", date);
+        assertFalse(paradoxIndex.contains("Marty1", date));
+    }
+
+    @Test
+    void should_ignore_pairs_it_cannot_encode() {
+        var paradoxIndex = paradoxIndex(100);
+
+        paradoxIndex.add("Marty-1", LocalDate.of(2015, 10, 21));
+        paradoxIndex.add("Marty12345X", LocalDate.of(2015, 10, 21));
+        paradoxIndex.add("Marty1", LocalDate.MAX);
+
+        assertEquals(0, paradoxIndex.size());
+        assertFalse(paradoxIndex.contains("Marty-1", LocalDate.of(2015, 10, 21)));
+    }
+
+    @Test
+    void should_stay_bounded_and_only_hold_added_pairs() {
+        var paradoxIndex = paradoxIndex(1_000);
+        var added = new HashSet<String>();
+        var random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < 10_000; i++) {
+            var pgi = "P" + random.nextInt(100_000);
+            var date = LocalDate.ofEpochDay(random.nextInt(1_000));
+            paradoxIndex.add(pgi, date);
+            added.add(pgi + '|' + date);
+            if (i % 3 == 0) {
+                paradoxIndex.remove(pgi, date);
+                added.remove(pgi + '|' + date);
+            }
+        }
+
+        assertTrue(paradoxIndex.size() <= 1_000);
+        var found = 0;
+        for (int p = 0; p < 100_000; p += 7) {
+            for (int d = 0; d < 1_000; d += 97) {
+                if (paradoxIndex.contains("P" + p, LocalDate.ofEpochDay(d))) {
+                    assertTrue(added.contains("P" + p + '|' + LocalDate.ofEpochDay(d)));
+                    found++;
+                }
+            }
+        }
+        assertTrue(found <= paradoxIndex.size());
+    }
+
+    @Test
+    void should_take_sixteen_bytes_per_entry() {
+        assertEquals(16, paradoxIndex(1_000_000).memoryBytes() / 1_000_000);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.cache.TravelCacheInvalidator;
+import com.bernardoms.timetravelapi.cache.TravelInvalidation;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TravelCacheInvalidatorUnitTest {
+
+    private final InProcessTravelInvalidationBus bus = new InProcessTravelInvalidationBus();
+
+    @Test
+    void should_evict_travel_deleted_on_another_instance() {
+        var travelId = new ObjectId();
+        var otherInstanceCache = new ConcurrentMapCacheManager("travel");
+        var otherInstanceNegativeCache = new NegativeTravelCache(new NegativeCacheProperties());
+        new TravelCacheInvalidator(bus, otherInstanceCache, otherInstanceNegativeCache, new ParadoxIndex(new ParadoxIndexProperties())).subscribe();
+        otherInstanceCache.getCache("travel").put(travelId, new TimeTravelDTO());
+
+        bus.publish(TravelInvalidation.deleted(travelId));
+
+        assertNull(otherInstanceCache.getCache("travel").get(travelId));
+        assertTrue(otherInstanceNegativeCache.isKnownAbsent(travelId));
+    }
+
+    @Test
+    void should_forget_absent_travel_created_on_another_instance() {
+        var travelId = new ObjectId();
+        var otherInstanceNegativeCache = new NegativeTravelCache(new NegativeCacheProperties());
+        new TravelCacheInvalidator(bus, new ConcurrentMapCacheManager("travel"), otherInstanceNegativeCache, new ParadoxIndex(new ParadoxIndexProperties())).subscribe();
+        otherInstanceNegativeCache.markAbsent(travelId);
+
+        bus.publish(TravelInvalidation.created(travelId));
+
+        assertFalse(otherInstanceNegativeCache.isKnownAbsent(travelId));
+    }
+
+    @Test
+    void should_forget_only_the_pair_of_a_deleted_travel() {
+        var paradoxIndex = new ParadoxIndex(new ParadoxIndexProperties());
+        new TravelCacheInvalidator(bus, new ConcurrentMapCacheManager("travel"),
+                new NegativeTravelCache(new NegativeCacheProperties()), paradoxIndex).subscribe();
+        var deleted = new TimeTravel(new ObjectId(), "AB123", "London", LocalDate.of(2015, 10, 21));
+        var kept = new TimeTravel(new ObjectId(), "AB123", "London", LocalDate.of(1985, 10, 26));
+
+        bus.publish(TravelInvalidation.created(deleted));
+        bus.publish(TravelInvalidation.created(kept));
+        bus.publish(TravelInvalidation.deleted(deleted));
+
+        assertFalse(paradoxIndex.contains("AB123", deleted.getDate()));
+        assertTrue(paradoxIndex.contains("AB123", kept.getDate()));
+
+        bus.publish(TravelInvalidation.deleted(new ObjectId()));
+
+        assertEquals(1, paradoxIndex.size());
+    }
+
+    @Test
+    void should_forget_every_pair_and_travel_when_changes_may_have_been_missed() {
+        var travelId = new ObjectId();
+        var paradoxIndex = new ParadoxIndex(new ParadoxIndexProperties());
+        var cacheManager = new ConcurrentMapCacheManager("travel");
+        new TravelCacheInvalidator(bus, cacheManager, new NegativeTravelCache(new NegativeCacheProperties()), paradoxIndex).subscribe();
+        bus.publish(TravelInvalidation.created(new TimeTravel(travelId, "AB123", "London", LocalDate.of(2015, 10, 21))));
+        cacheManager.getCache("travel").put(travelId, new TimeTravelDTO());
+
+        bus.publish(TravelInvalidation.missed());
+
+        assertEquals(0, paradoxIndex.size());
+        assertNull(cacheManager.getCache("travel").get(travelId));
+    }
+}
@@ -0,0 +1,82 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.TravelInvalidation;
+import com.bernardoms.timetravelapi.cache.TravelResponseCache;
+import com.bernardoms.timetravelapi.config.ResponseCacheProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TravelResponseCacheUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final InProcessTravelInvalidationBus bus = new InProcessTravelInvalidationBus();
+
+    @Test
+    void should_keep_the_encoded_travel_until_it_is_deleted() {
+        var responseCache = responseCache(false);
+        var travelId = new ObjectId();
+
+        var encoded = responseCache.put(travelId, "\"etag\"", travel("London"));
+
+        assertSame(encoded, responseCache.get(travelId));
+        assertEquals("{\"pgi\":\"A12345\",\"place\":\"London\",\"date\":\"2020-10-11\"}", new String(encoded.getJson(), StandardCharsets.UTF_8));
+        assertNull(encoded.getGzip());
+
+        bus.publish(TravelInvalidation.deleted(travelId));
+
+        assertNull(responseCache.get(travelId));
+    }
+
+    @Test
+    void should_not_keep_a_travel_read_before_its_delete_evicted_it() {
+        var responseCache = responseCache(false);
+        var travelId = new ObjectId();
+
+        bus.publish(TravelInvalidation.deleted(travelId));
+        var encoded = responseCache.put(travelId, "\"etag\"", travel("London"));
+
+        assertNotNull(encoded);
+        assertNull(responseCache.get(travelId));
+    }
+
+    @Test
+    void should_keep_a_gzipped_copy_only_when_it_is_smaller() throws Exception {
+        var responseCache = responseCache(true);
+
+        assertNull(responseCache.put(new ObjectId(), "\"small\"", travel("London")).getGzip());
+
+        var large = responseCache.put(new ObjectId(), "\"large\"", travel("London".repeat(100)));
+        assertNotNull(large.getGzip());
+        try (var gunzip = new GZIPInputStream(new ByteArrayInputStream(large.getGzip()))) {
+            assertArrayEquals(large.getJson(), gunzip.readAllBytes());
+        }
+    }
+
+    private TravelResponseCache responseCache(boolean gzip) {
+        var properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setGzip(gzip);
+        var responseCache = new TravelResponseCache(properties, objectMapper, bus);
+        responseCache.subscribe();
+        return responseCache;
+    }
+
+    private static TimeTravelDTO travel(String place) {
+        return TimeTravelDTO.builder().pgi("A12345").place(place).date(LocalDate.of(2020, 10, 11)).build();
+    }
+}
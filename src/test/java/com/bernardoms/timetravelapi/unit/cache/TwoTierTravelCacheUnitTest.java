@@ -0,0 +1,73 @@
+package com.bernardoms.timetravelapi.unit.cache;
+
+import com.bernardoms.timetravelapi.cache.OffHeapTravelCacheStore;
+import com.bernardoms.timetravelapi.cache.TwoTierTravelCache;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TwoTierTravelCacheUnitTest {
+    private final TimeTravelDTO travel = new TimeTravelDTO("AB12", "London", LocalDate.of(2015, 10, 21));
+
+    private ConcurrentMapCache nearCache;
+    private OffHeapTravelCacheStore store;
+    private TwoTierTravelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = new ConcurrentMapCache("travel");
+        store = new OffHeapTravelCacheStore(100, 64, 1);
+        cache = new TwoTierTravelCache(nearCache, store);
+    }
+
+    @Test
+    void should_promote_travels_found_in_the_store() {
+        var id = new ObjectId();
+        cache.put(id, travel);
+        nearCache.clear();
+
+        assertEquals(travel, cache.get(id, TimeTravelDTO.class));
+        assertEquals(travel, nearCache.get(id, TimeTravelDTO.class));
+        assertEquals(travel, cache.get(id, TimeTravelDTO.class));
+
+        assertEquals(1, cache.getNearHits());
+        assertEquals(1, cache.getNearMisses());
+        assertEquals(1, cache.getStoreHits());
+        assertEquals(0, cache.getStoreMisses());
+    }
+
+    @Test
+    void should_evict_from_both_tiers() {
+        var id = new ObjectId();
+        cache.put(id, travel);
+
+        cache.evict(id);
+
+        assertNull(cache.get(id));
+        assertNull(store.get(id));
+        assertEquals(1, cache.getStoreMisses());
+    }
+
+    @Test
+    void should_keep_values_not_keyed_by_id_in_the_near_cache_only() {
+        cache.put("AB12", travel);
+
+        assertEquals(travel, cache.get("AB12", TimeTravelDTO.class));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void should_load_and_store_missing_travels() {
+        var id = new ObjectId();
+
+        assertEquals(travel, cache.get(id, () -> travel));
+        assertEquals(travel, store.get(id));
+    }
+}
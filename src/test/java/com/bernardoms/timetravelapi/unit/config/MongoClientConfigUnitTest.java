@@ -0,0 +1,49 @@
+package com.bernardoms.timetravelapi.unit.config;
+
+import com.bernardoms.timetravelapi.config.MongoClientConfig;
+import com.bernardoms.timetravelapi.config.MongoClientProperties;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MongoClientConfigUnitTest {
+
+    private MongoClientSettings customize(MongoClientProperties properties) {
+        var builder = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://localhost/travels?maxPoolSize=20&connectTimeoutMS=7000"));
+        new MongoClientConfig().mongoClientPropertiesCustomizer(properties).customize(builder);
+        return builder.build();
+    }
+
+    @Test
+    void should_override_only_the_configured_settings() {
+        var properties = new MongoClientProperties();
+        properties.getPool().setMaxWaitTime(Duration.ofMillis(500));
+        properties.setSocketTimeout(Duration.ofSeconds(3));
+        properties.setCompressors(List.of("snappy", "zstd"));
+
+        var settings = customize(properties);
+
+        assertEquals(20, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(500, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(7000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(3000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of(MongoCompressor.createSnappyCompressor(), MongoCompressor.createZstdCompressor()), settings.getCompressorList());
+    }
+
+    @Test
+    void should_refuse_unknown_compressors() {
+        var properties = new MongoClientProperties();
+        properties.setCompressors(List.of("lz4"));
+
+        assertThrows(IllegalArgumentException.class, () -> customize(properties));
+    }
+}
@@ -0,0 +1,151 @@
+package com.bernardoms.timetravelapi.unit.controller;
+
+import com.bernardoms.timetravelapi.cache.HotTravelKeys;
+import com.bernardoms.timetravelapi.config.HotKeysProperties;
+import com.bernardoms.timetravelapi.controller.ReactiveExceptionController;
+import com.bernardoms.timetravelapi.controller.ReactiveTimeTravelController;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.ParadoxException;
+import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
+import com.bernardoms.timetravelapi.service.ReactiveTimeTravelService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTimeTravelControllerUnitTest {
+    @InjectMocks
+    private ReactiveTimeTravelController reactiveTimeTravelController;
+
+    @Mock
+    private ReactiveTimeTravelService reactiveTimeTravelService;
+
+    @Spy
+    private HotTravelKeys hotTravelKeys = new HotTravelKeys(new HotKeysProperties());
+
+    private WebTestClient webTestClient;
+
+    private static final String URL_PATH = "/v1/travels";
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(reactiveTimeTravelController)
+                .controllerAdvice(new ReactiveExceptionController())
+                .build();
+    }
+
+    @Test
+    void should_return_ok_when_find_existing_travel_by_id() {
+        var travel = TimeTravelDTO.builder().pgi("A12345")
+                .date(LocalDate.of(2020, 10, 11))
+                .place("London").build();
+
+        when(reactiveTimeTravelService.getTravel(new ObjectId("507f191e810c19729de860ea"))).thenReturn(Mono.just(travel));
+
+        webTestClient.get().uri(URL_PATH + "/507f191e810c19729de860ea")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("place").isEqualTo("London")
+                .jsonPath("pgi").isEqualTo("A12345");
+    }
+
+    @Test
+    void should_answer_not_modified_without_a_body_when_the_travel_etag_matches() {
+        var travel = TimeTravelDTO.builder().pgi("A12345").date(LocalDate.of(2020, 10, 11)).place("London").build();
+        when(reactiveTimeTravelService.getTravel(new ObjectId("507f191e810c19729de860ea"))).thenReturn(Mono.just(travel));
+
+        webTestClient.get().uri(URL_PATH + "/507f191e810c19729de860ea")
+                .header("If-None-Match", "\"507f191e810c19729de860ea\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"507f191e810c19729de860ea\"")
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void should_return_not_found_when_travel_id_dont_exist() {
+        when(reactiveTimeTravelService.getTravel(new ObjectId("317f191e810c19729de860fa"))).thenReturn(Mono.error(new TravelNotFoundException("")));
+
+        webTestClient.get().uri(URL_PATH + "/317f191e810c19729de860fa")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void should_return_bad_request_when_travel_id_is_invalid() {
+        webTestClient.get().uri(URL_PATH + "/invalid")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("invalid travelId");
+    }
+
+    @Test
+    void should_return_created_with_location_when_creating_new_travel() {
+        var newTravel = TimeTravelDTO.builder().pgi("A1234567")
+                .date(LocalDate.of(2020, 10, 10))
+                .place("Brazil").build();
+
+        when(reactiveTimeTravelService.saveTravel(newTravel, null)).thenReturn(Mono.just("507f191e810c19729de860ea"));
+
+        webTestClient.post().uri(URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTravel)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("location", "/v1/travels/507f191e810c19729de860ea");
+    }
+
+    @Test
+    void should_return_bad_request_when_creating_new_travel_with_invalid_body() {
+        webTestClient.post().uri(URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TimeTravelDTO.builder().build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.description.date").isEqualTo("must not be null")
+                .jsonPath("$.description.pgi").isEqualTo("must not be blank")
+                .jsonPath("$.description.place").isEqualTo("must not be blank");
+    }
+
+    @Test
+    void should_return_conflict_when_there_is_a_paradox_exception() {
+        var newTravel = TimeTravelDTO.builder().pgi("A12345")
+                .date(LocalDate.of(2020, 10, 11))
+                .place("London").build();
+
+        when(reactiveTimeTravelService.saveTravel(newTravel, null))
+                .thenReturn(Mono.error(new ParadoxException("Paradox detected! traveler with pgi A12345 already traveled to London at date 2020-10-11")));
+
+        webTestClient.post().uri(URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(newTravel)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("Paradox detected! traveler with pgi A12345 already traveled to London at date 2020-10-11");
+    }
+
+    @Test
+    void should_return_no_content_when_deleting_an_travel() {
+        when(reactiveTimeTravelService.deleteTravel(new ObjectId("507f191e810c19729de860aa"))).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri(URL_PATH + "/507f191e810c19729de860aa")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
@@ -1,18 +1,29 @@
 package com.bernardoms.timetravelapi.unit.controller;
 
+import com.bernardoms.timetravelapi.cache.HotTravelKeys;
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.TravelResponseCache;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.config.HotKeysProperties;
+import com.bernardoms.timetravelapi.config.ResponseCacheProperties;
 import com.bernardoms.timetravelapi.controller.ExceptionController;
 import com.bernardoms.timetravelapi.controller.TimeTravelController;
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
 import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
 import com.bernardoms.timetravelapi.exception.ParadoxException;
 import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
 import com.bernardoms.timetravelapi.service.TimeTravelService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -22,9 +33,16 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,7 +58,17 @@ class TimeTravelControllerUnitTest {
     @Mock
     private TimeTravelService timeTravelService;
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    @Spy
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @Spy
+    private HotTravelKeys hotTravelKeys = new HotTravelKeys(new HotKeysProperties());
+
+    @Spy
+    private TravelResponseCache travelResponseCache = new TravelResponseCache(new ResponseCacheProperties(), new ObjectMapper(), new InProcessTravelInvalidationBus());
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
 
     private static final String URL_PATH = "/v1/travels";
 
@@ -66,6 +94,100 @@ class TimeTravelControllerUnitTest {
                 .andExpect(jsonPath("pgi", is("A12345")));
     }
 
+    @Test
+    void should_answer_not_modified_without_a_body_when_the_travel_etag_matches() throws Exception {
+        var travel = TimeTravelDTO.builder().pgi("A12345").date(LocalDate.of(2020, 10, 11)).place("London").build();
+        when(timeTravelService.getTravel(new ObjectId("507f191e810c19729de860ea"))).thenReturn(travel);
+
+        var eTag = mockMvc.perform(get(URL_PATH + "/507f191e810c19729de860ea"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"507f191e810c19729de860ea\""))
+                .andExpect(header().string("Cache-Control", "public, max-age=60, must-revalidate"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(URL_PATH + "/507f191e810c19729de860ea").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void should_answer_not_modified_while_the_page_shows_the_same_travels() throws Exception {
+        var london = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London").build();
+        var brazil = TimeTravelDTO.builder().pgi("B1234").date(LocalDate.of(2020, 10, 11)).place("Brazil").build();
+        when(timeTravelService.getTravels(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(london)));
+
+        var eTag = mockMvc.perform(get(URL_PATH).param("page", "0").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(URL_PATH).param("page", "0").param("size", "1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        when(timeTravelService.getTravels(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(brazil)));
+
+        mockMvc.perform(get(URL_PATH).param("page", "0").param("size", "1").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].pgi", is("B1234")));
+    }
+
+    @Test
+    void should_write_the_cached_response_without_asking_the_service_again() throws Exception {
+        var properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        var objectMapper = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        var cachingMockMvc = standaloneSetup(new TimeTravelController(timeTravelService, objectMapper, hotTravelKeys,
+                new TravelResponseCache(properties, objectMapper, new InProcessTravelInvalidationBus()), batchProperties))
+                .setControllerAdvice(ExceptionController.class)
+                .build();
+        var travel = TimeTravelDTO.builder().pgi("A12345").date(LocalDate.of(2020, 10, 11)).place("London").build();
+        when(timeTravelService.getTravel(new ObjectId("507f191e810c19729de860ea"))).thenReturn(travel);
+
+        for (int i = 0; i < 2; i++) {
+            cachingMockMvc.perform(get(URL_PATH + "/507f191e810c19729de860ea"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("ETag", "\"507f191e810c19729de860ea\""))
+                    .andExpect(header().string("Cache-Control", "public, max-age=60, must-revalidate"))
+                    .andExpect(content().json("{\"pgi\":\"A12345\",\"place\":\"London\",\"date\":\"2020-10-11\"}"));
+        }
+        cachingMockMvc.perform(get(URL_PATH + "/507f191e810c19729de860ea").header("If-None-Match", "\"507f191e810c19729de860ea\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(timeTravelService, times(1)).getTravel(new ObjectId("507f191e810c19729de860ea"));
+    }
+
+    @Test
+    void should_send_the_gzipped_copy_under_its_own_etag_only_to_clients_accepting_gzip() throws Exception {
+        var properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setGzip(true);
+        var objectMapper = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        var cachingMockMvc = standaloneSetup(new TimeTravelController(timeTravelService, objectMapper, hotTravelKeys,
+                new TravelResponseCache(properties, objectMapper, new InProcessTravelInvalidationBus()), batchProperties))
+                .setControllerAdvice(ExceptionController.class)
+                .build();
+        var travel = TimeTravelDTO.builder().pgi("A12345").date(LocalDate.of(2020, 10, 11)).place("London".repeat(100)).build();
+        when(timeTravelService.getTravel(new ObjectId("507f191e810c19729de860ea"))).thenReturn(travel);
+
+        cachingMockMvc.perform(get(URL_PATH + "/507f191e810c19729de860ea").header("Accept-Encoding", "deflate, gzip;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("ETag", "\"507f191e810c19729de860ea-gz\""));
+        cachingMockMvc.perform(get(URL_PATH + "/507f191e810c19729de860ea").header("Accept-Encoding", "*, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", "\"507f191e810c19729de860ea\""))
+                .andExpect(jsonPath("pgi", is("A12345")));
+        cachingMockMvc.perform(get(URL_PATH + "/507f191e810c19729de860ea")
+                .header("Accept-Encoding", "gzip").header("If-None-Match", "\"507f191e810c19729de860ea\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
     @Test
     void should_return_not_found_when_travel_id_dont_exist() throws Exception {
         when(timeTravelService.getTravel(new ObjectId("317f191e810c19729de860fa"))).thenThrow(new TravelNotFoundException(""));
@@ -78,7 +200,7 @@ class TimeTravelControllerUnitTest {
                 .date(LocalDate.of(2020,10,10))
                 .place("Brazil").build();
 
-        when(timeTravelService.saveTravel(newTravel)).thenReturn("507f191e810c19729de860ea");
+        when(timeTravelService.saveTravel(newTravel, null)).thenReturn("507f191e810c19729de860ea");
 
         mockMvc.perform(post(URL_PATH).content(mapper.writeValueAsString(newTravel)).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isCreated()).andExpect(header().stringValues("location", "http://localhost/v1/travels/507f191e810c19729de860ea"));
@@ -90,7 +212,7 @@ class TimeTravelControllerUnitTest {
                 .date(LocalDate.of(2020,10,10))
                 .place("Brazil").build();
 
-        when(timeTravelService.saveTravel(newTravel)).thenThrow(new RuntimeException());
+        when(timeTravelService.saveTravel(newTravel, null)).thenThrow(new RuntimeException());
 
         mockMvc.perform(post(URL_PATH).content(mapper.writeValueAsString(newTravel)).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isInternalServerError());
@@ -102,13 +224,28 @@ class TimeTravelControllerUnitTest {
                 .date(LocalDate.of(2020,10,11))
                 .place("London").build();
 
-        when(timeTravelService.saveTravel(newTravel)).thenThrow(new ParadoxException("Paradox detected! traveler with pgi A12345 already traveled to London at date 2020-10-11"));
+        when(timeTravelService.saveTravel(newTravel, null)).thenThrow(new ParadoxException("Paradox detected! traveler with pgi A12345 already traveled to London at date 2020-10-11"));
 
         mockMvc.perform(post(URL_PATH).content(mapper.writeValueAsString(newTravel)).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.description", is("Paradox detected! traveler with pgi A12345 already traveled to London at date 2020-10-11")));
     }
 
+    @Test
+    void should_pass_the_idempotency_key_and_refuse_it_when_reused_for_another_travel() throws Exception {
+        var newTravel = TimeTravelDTO.builder().pgi("A12345")
+                .date(LocalDate.of(2020,10,11))
+                .place("London").build();
+
+        when(timeTravelService.saveTravel(newTravel, "retry-1")).thenReturn("507f191e810c19729de860ea");
+        when(timeTravelService.saveTravel(newTravel, "retry-2")).thenThrow(IdempotencyKeyException.reused("retry-2"));
+
+        mockMvc.perform(post(URL_PATH).header("Idempotency-Key", "retry-1").content(mapper.writeValueAsString(newTravel)).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated()).andExpect(header().stringValues("location", "http://localhost/v1/travels/507f191e810c19729de860ea"));
+        mockMvc.perform(post(URL_PATH).header("Idempotency-Key", "retry-2").content(mapper.writeValueAsString(newTravel)).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void should_return_no_content_when_deleting_an_travel() throws Exception {
         mockMvc.perform(delete(URL_PATH + "/507f191e810c19729de860aa")).andExpect(status().isNoContent());
@@ -134,4 +271,131 @@ class TimeTravelControllerUnitTest {
                 .andExpect(jsonPath("$.content[0].pgi", is("A1234")))
                 .andExpect(jsonPath("$.content[0].place", is("London")));
     }
+
+    @Test
+    void should_return_item_results_when_saving_batch_from_ndjson() throws Exception {
+        var travel1 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London").build();
+        var travel2 = TimeTravelDTO.builder().pgi("B1234").date(LocalDate.of(2020, 10, 11)).place("Brazil").build();
+
+        when(timeTravelService.saveTravels(Arrays.asList(travel1, travel2))).thenReturn(Arrays.asList(
+                BatchItemResultDTO.builder().index(0).status(BatchItemResultDTO.Status.CREATED).id("507f191e810c19729de860ea").build(),
+                BatchItemResultDTO.builder().index(1).status(BatchItemResultDTO.Status.PARADOX).description("Paradox detected!").build()));
+
+        mockMvc.perform(post(URL_PATH + "/batch")
+                .content(mapper.writeValueAsString(travel1) + "\n" + mapper.writeValueAsString(travel2) + "\n")
+                .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", is("507f191e810c19729de860ea")))
+                .andExpect(jsonPath("$[1].status", is("PARADOX")));
+    }
+
+    @Test
+    void should_return_bad_request_when_saving_batch_with_malformed_ndjson() throws Exception {
+        mockMvc.perform(post(URL_PATH + "/batch").content("{\"pgi\": ").contentType("application/x-ndjson"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_item_results_when_saving_batch_from_json_array() throws Exception {
+        var travel1 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London").build();
+        var travel2 = TimeTravelDTO.builder().pgi("B1234").date(LocalDate.of(2020, 10, 11)).place("Brazil").build();
+
+        when(timeTravelService.saveTravels(Arrays.asList(travel1, travel2))).thenReturn(Arrays.asList(
+                BatchItemResultDTO.builder().index(0).status(BatchItemResultDTO.Status.CREATED).id("507f191e810c19729de860ea").build(),
+                BatchItemResultDTO.builder().index(1).status(BatchItemResultDTO.Status.PARADOX).description("Paradox detected!").build()));
+
+        mockMvc.perform(post(URL_PATH + "/batch")
+                .content(mapper.writeValueAsString(List.of(travel1, travel2)))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("PARADOX")));
+    }
+
+    @Test
+    void should_return_bad_request_without_saving_when_json_batch_is_over_max_size_or_not_an_array() throws Exception {
+        var travel1 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London").build();
+        var travel2 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 11)).place("Brazil").build();
+        batchProperties.setMaxSize(1);
+
+        mockMvc.perform(post(URL_PATH + "/batch")
+                .content(mapper.writeValueAsString(List.of(travel1, travel2)))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.description", is("batch should have at most 1 travels")));
+        mockMvc.perform(post(URL_PATH + "/batch")
+                .content(mapper.writeValueAsString(travel1))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(timeTravelService, never()).saveTravels(any());
+    }
+
+    @Test
+    void should_return_bad_request_without_saving_when_ndjson_batch_is_over_max_size() throws Exception {
+        var travel1 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London").build();
+        var travel2 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 11)).place("Brazil").build();
+        batchProperties.setMaxSize(1);
+
+        mockMvc.perform(post(URL_PATH + "/batch")
+                .content(mapper.writeValueAsString(travel1) + "\n" + mapper.writeValueAsString(travel2) + "\n")
+                .contentType("application/x-ndjson"))
+                .andExpect(status().isBadRequest());
+
+        verify(timeTravelService, never()).saveTravels(any());
+    }
+
+    @Test
+    void should_return_ok_with_travels_and_next_cursor_when_get_travels_with_cursor() throws Exception {
+        var travel = TimeTravelDTO.builder()
+                .pgi("A1234")
+                .date(LocalDate.of(2020, 10, 10)).place("London")
+                .build();
+
+        when(timeTravelService.getTravels("", 1)).thenReturn(CursorPageDTO.<TimeTravelDTO>builder()
+                .content(List.of(travel)).size(1).hasNext(true).next("UH8ZHoEMGXKd6GDq").build());
+
+        mockMvc.perform(get(URL_PATH).param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].pgi", is("A1234")))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.next", is("UH8ZHoEMGXKd6GDq")));
+    }
+
+    @Test
+    void should_stream_travels_as_ndjson_when_exporting() throws Exception {
+        var travel1 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London").build();
+        var travel2 = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 11)).place("Brazil").build();
+
+        when(timeTravelService.streamTravels("A1234", LocalDate.of(2020, 10, 1), null)).thenReturn(Stream.of(travel1, travel2));
+
+        var body = mockMvc.perform(get(URL_PATH + "/export").param("pgi", "A1234").param("from", "2020-10-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("application/x-ndjson")))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("London", mapper.readTree(lines[0]).get("place").asText());
+        assertEquals("Brazil", mapper.readTree(lines[1]).get("place").asText());
+    }
+
+    @Test
+    void should_stream_travels_as_csv_when_exporting() throws Exception {
+        var travel = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London, \"UK\"").build();
+
+        when(timeTravelService.streamTravels(null, null, null)).thenReturn(Stream.of(travel));
+
+        mockMvc.perform(get(URL_PATH + "/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(content().string("pgi,place,date\nA1234,\"London, \"\"UK\"\"\",2020-10-10\n"));
+    }
+
+    @Test
+    void should_return_bad_request_when_exporting_with_unknown_format() throws Exception {
+        mockMvc.perform(get(URL_PATH + "/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,63 @@
+package com.bernardoms.timetravelapi.unit.controller;
+
+import com.bernardoms.timetravelapi.controller.ExceptionController;
+import com.bernardoms.timetravelapi.controller.TravelerController;
+import com.bernardoms.timetravelapi.dto.CursorPageDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.service.TimeTravelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+@ExtendWith(MockitoExtension.class)
+class TravelerControllerUnitTest {
+    @InjectMocks
+    private TravelerController travelerController;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TimeTravelService timeTravelService;
+
+    private static final String URL_PATH = "/v1/travelers";
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = standaloneSetup(travelerController)
+                .setControllerAdvice(ExceptionController.class)
+                .build();
+    }
+
+    @Test
+    void should_return_ok_with_traveler_timeline_between_dates() throws Exception {
+        var travel = TimeTravelDTO.builder().pgi("A1234").date(LocalDate.of(2020, 10, 10)).place("London").build();
+
+        when(timeTravelService.getTravelerTimeline("A1234", LocalDate.of(2020, 10, 1), LocalDate.of(2020, 10, 31), null, 20))
+                .thenReturn(CursorPageDTO.<TimeTravelDTO>builder().content(List.of(travel)).size(1).hasNext(false).build());
+
+        mockMvc.perform(get(URL_PATH + "/A1234/travels").param("from", "2020-10-01").param("to", "2020-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].place", is("London")))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void should_return_bad_request_when_timeline_date_is_invalid() throws Exception {
+        mockMvc.perform(get(URL_PATH + "/A1234/travels").param("from", "01/10/2020"))
+                .andExpect(status().isBadRequest());
+    }
+}
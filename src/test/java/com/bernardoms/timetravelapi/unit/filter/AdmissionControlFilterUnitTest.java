@@ -0,0 +1,100 @@
+package com.bernardoms.timetravelapi.unit.filter;
+
+import com.bernardoms.timetravelapi.admission.AdmissionControl;
+import com.bernardoms.timetravelapi.admission.MongoPoolWaiters;
+import com.bernardoms.timetravelapi.config.AdmissionControlProperties;
+import com.bernardoms.timetravelapi.filter.AdmissionControlFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdmissionControlFilterUnitTest {
+
+    private final AdmissionControlFilter filter = filter(properties());
+
+    @Test
+    void should_answer_429_without_calling_the_chain_once_the_client_is_over_its_rate() throws Exception {
+        var calls = new AtomicInteger();
+
+        var admitted = new MockHttpServletResponse();
+        filter.doFilter(request("client-a", "10.0.0.1"), admitted, (req, res) -> calls.incrementAndGet());
+        var refused = new MockHttpServletResponse();
+        filter.doFilter(request("client-a", "10.0.0.2"), refused, (req, res) -> calls.incrementAndGet());
+
+        assertEquals(1, calls.get());
+        assertEquals(200, admitted.getStatus());
+        assertEquals(429, refused.getStatus());
+        assertEquals("1", refused.getHeader("Retry-After"));
+        assertEquals("{\"description\":\"too many requests, slow down\"}", refused.getContentAsString());
+    }
+
+    @Test
+    void should_key_clients_on_the_remote_address_unless_told_to_trust_headers() throws Exception {
+        var calls = new AtomicInteger();
+
+        filter.doFilter(request("client-a", null), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        filter.doFilter(request("client-b", null), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        filter.doFilter(request(null, "10.0.0.1"), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void should_tell_clients_apart_by_trusted_header_then_address_seen_by_the_trusted_proxy() throws Exception {
+        var properties = properties();
+        properties.setClientHeader("X-Client-Id");
+        properties.setTrustedProxies(1);
+        var trusting = filter(properties);
+        var calls = new AtomicInteger();
+
+        trusting.doFilter(request("client-a", null), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        trusting.doFilter(request("client-b", null), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        trusting.doFilter(request(null, "10.9.9.9, 10.0.0.1"), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        trusting.doFilter(request(null, "10.9.9.8, 10.0.0.1"), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        trusting.doFilter(request(null, "10.0.0.2"), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void should_leave_actuator_requests_alone() throws Exception {
+        var calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), (req, res) -> calls.incrementAndGet());
+        }
+
+        assertEquals(3, calls.get());
+    }
+
+    private static MockHttpServletRequest request(String clientId, String forwardedFor) {
+        var request = new MockHttpServletRequest("GET", "/v1/travels");
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    private static AdmissionControlFilter filter(AdmissionControlProperties properties) {
+        return new AdmissionControlFilter(new AdmissionControl(properties, new MongoPoolWaiters(), new SimpleMeterRegistry()), properties);
+    }
+
+    private static AdmissionControlProperties properties() {
+        var route = new AdmissionControlProperties.Route();
+        route.setMethod("GET");
+        route.setPath("/v1/travels");
+        route.setRate(0.001);
+        var properties = new AdmissionControlProperties();
+        properties.setRoutes(List.of(route));
+        return properties;
+    }
+}
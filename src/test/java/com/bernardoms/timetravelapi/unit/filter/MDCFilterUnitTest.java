@@ -0,0 +1,87 @@
+package com.bernardoms.timetravelapi.unit.filter;
+
+import com.bernardoms.timetravelapi.config.MDCProperties;
+import com.bernardoms.timetravelapi.filter.MDCFilter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MDCFilterUnitTest {
+
+    private final MDCFilter filter = new MDCFilter(new MDCProperties());
+
+    @Test
+    void should_put_only_allowlisted_headers_and_params_on_mdc() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/v1/travels");
+        request.addHeader("User-Agent", "curl/7.68.0");
+        request.addHeader("Authorization", "Bearer secret");
+        request.addParameter("page", "1");
+        request.addParameter("unknown", "value");
+        var captured = new HashMap<String, String>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> captured.putAll(MDC.getCopyOfContextMap()));
+
+        assertEquals("/v1/travels", captured.get("path"));
+        assertEquals("GET", captured.get("requestMethod"));
+        assertEquals("curl/7.68.0", captured.get("User-Agent"));
+        assertEquals("1", captured.get("page"));
+        assertFalse(captured.containsKey("Authorization"));
+        assertFalse(captured.containsKey("unknown"));
+        assertNull(MDC.get("requestId"));
+    }
+
+    @Test
+    void should_reuse_incoming_request_id() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/v1/travels");
+        request.addHeader(MDCFilter.REQUEST_ID_HEADER, "abc-123");
+        var response = new MockHttpServletResponse();
+        Map<String, String> captured = new HashMap<>();
+
+        filter.doFilter(request, response, (req, res) -> captured.putAll(MDC.getCopyOfContextMap()));
+
+        assertEquals("abc-123", captured.get("requestId"));
+        assertEquals("abc-123", response.getHeader("RequestId"));
+    }
+
+    @Test
+    void should_generate_request_id_when_incoming_one_is_missing_or_too_long() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/v1/travels");
+        request.addHeader(MDCFilter.REQUEST_ID_HEADER, "x".repeat(65));
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        var requestId = response.getHeader("RequestId");
+        assertTrue(requestId.matches("[0-9a-f]{32}"));
+        assertNotEquals(requestId, generatedId());
+    }
+
+    @Test
+    void should_clear_mdc_when_chain_fails() {
+        var request = new MockHttpServletRequest("GET", "/v1/travels");
+
+        assertThrows(ServletException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            throw new ServletException("boom");
+        }));
+
+        assertNull(MDC.get("requestId"));
+    }
+
+    private String generatedId() throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/travels"), response, (req, res) -> { });
+        return response.getHeader("RequestId");
+    }
+}
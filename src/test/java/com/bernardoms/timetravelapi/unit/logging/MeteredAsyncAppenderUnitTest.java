@@ -0,0 +1,74 @@
+package com.bernardoms.timetravelapi.unit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.bernardoms.timetravelapi.logging.MeteredAsyncAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeteredAsyncAppenderUnitTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final MeteredAsyncAppender appender = new MeteredAsyncAppender();
+
+    @BeforeEach
+    void setUp() {
+        var blockingAppender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent eventObject) {
+                received.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blockingAppender.setContext(context);
+        blockingAppender.start();
+
+        appender.setContext(context);
+        appender.setQueueSize(2);
+        appender.setDiscardingThreshold(1);
+        appender.setNeverBlock(true);
+        appender.setMaxFlushTime(0);
+        appender.addAppender(blockingAppender);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void should_count_events_dropped_by_threshold_and_full_queue() throws InterruptedException {
+        appender.doAppend(event(Level.INFO));
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+
+        appender.doAppend(event(Level.ERROR));
+        appender.doAppend(event(Level.ERROR));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.ERROR));
+
+        assertEquals(1, appender.getDiscardedCount());
+        assertEquals(1, appender.getRejectedCount());
+    }
+
+    private ILoggingEvent event(Level level) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, "message", null, null);
+    }
+}
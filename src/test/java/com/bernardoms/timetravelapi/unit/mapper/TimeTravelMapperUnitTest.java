@@ -0,0 +1,45 @@
+package com.bernardoms.timetravelapi.unit.mapper;
+
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TimeTravelMapperUnitTest {
+
+    private final TimeTravelMapper timeTravelMapper = new TimeTravelMapper();
+
+    @Test
+    void should_map_travel_to_dto() {
+        var travel = TimeTravel.builder()
+                .id(new ObjectId("507f191e810c19729de860eb"))
+                .pgi("A1234")
+                .place("London")
+                .date(LocalDate.of(2020, 10, 10))
+                .build();
+
+        var travelDTO = timeTravelMapper.toDTO(travel);
+
+        assertEquals("A1234", travelDTO.getPgi());
+        assertEquals("London", travelDTO.getPlace());
+        assertEquals(LocalDate.of(2020, 10, 10), travelDTO.getDate());
+    }
+
+    @Test
+    void should_map_dto_to_travel_without_id() {
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+
+        var travel = timeTravelMapper.toEntity(travelDTO);
+
+        assertNull(travel.getId());
+        assertEquals("A1234", travel.getPgi());
+        assertEquals("London", travel.getPlace());
+        assertEquals(LocalDate.of(2020, 10, 10), travel.getDate());
+    }
+}
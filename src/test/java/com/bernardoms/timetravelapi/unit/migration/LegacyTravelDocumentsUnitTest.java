@@ -0,0 +1,66 @@
+package com.bernardoms.timetravelapi.unit.migration;
+
+import com.bernardoms.timetravelapi.migration.LegacyTravelDocuments;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LegacyTravelDocumentsUnitTest {
+
+    @Test
+    void should_rename_legacy_fields_and_drop_class() {
+        var date = Date.from(LocalDate.of(2015, 10, 21).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        var document = new Document("_id", 1)
+                .append("pgi", "Marty1")
+                .append("place", "Hill Valley")
+                .append("date", date)
+                .append("_class", "com.bernardoms.timetravelapi.model.TimeTravel");
+
+        assertTrue(LegacyTravelDocuments.isLegacy(document));
+        LegacyTravelDocuments.toCompact(document);
+
+        assertFalse(LegacyTravelDocuments.isLegacy(document));
+        assertEquals(new Document("_id", 1).append("p", "Marty1").append("l", "Hill Valley").append("d", date), document);
+    }
+
+    @Test
+    void should_leave_compact_documents_alone() {
+        var document = new Document("_id", 1).append("p", "Marty1").append("l", "Hill Valley").append("d", 16729);
+
+        assertFalse(LegacyTravelDocuments.isLegacy(document));
+        LegacyTravelDocuments.toCompact(document);
+
+        assertEquals(new Document("_id", 1).append("p", "Marty1").append("l", "Hill Valley").append("d", 16729), document);
+    }
+
+    @Test
+    void should_copy_compact_fields_under_legacy_names_and_read_them_back_compact() {
+        var date = LocalDate.of(2015, 10, 21);
+        var document = new Document("_id", 1).append("p", "Marty1").append("l", "Hill Valley").append("d", (int) date.toEpochDay());
+
+        LegacyTravelDocuments.withLegacyFields(document);
+
+        assertEquals("Marty1", document.get("pgi"));
+        assertEquals("Hill Valley", document.get("place"));
+        assertEquals(Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()), document.get("date"));
+        LegacyTravelDocuments.toCompact(document);
+        assertEquals(new Document("_id", 1).append("p", "Marty1").append("l", "Hill Valley").append("d", (int) date.toEpochDay()), document);
+    }
+
+    @Test
+    void should_read_legacy_dates_as_epoch_days() {
+        var date = LocalDate.of(2015, 10, 21);
+
+        assertEquals((int) date.toEpochDay(), LegacyTravelDocuments.epochDay(Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant())));
+        assertEquals((int) date.toEpochDay(), LegacyTravelDocuments.epochDay((int) date.toEpochDay()));
+        assertNull(LegacyTravelDocuments.epochDay(null));
+    }
+}
@@ -0,0 +1,105 @@
+package com.bernardoms.timetravelapi.unit.migration;
+
+import com.bernardoms.timetravelapi.config.MigrationProperties;
+import com.bernardoms.timetravelapi.migration.CompactTravelsMigration;
+import com.bernardoms.timetravelapi.migration.MigrationCheckpoint;
+import com.bernardoms.timetravelapi.migration.MigrationRunner;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MigrationRunnerUnitTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations bulkOperations;
+    @Mock
+    private IndexOperations indexOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MigrationRunner migrationRunner;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new MigrationProperties();
+        properties.setPause(Duration.ZERO);
+        migrationRunner = new MigrationRunner(mongoTemplate, List.of(new CompactTravelsMigration()), properties, meterRegistry);
+    }
+
+    @Test
+    void should_skip_done_migrations() {
+        when(mongoTemplate.findById(1, MigrationCheckpoint.class))
+                .thenReturn(MigrationCheckpoint.builder().version(1).status(MigrationCheckpoint.Status.DONE).build());
+
+        assertTrue(migrationRunner.runAll());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), any());
+    }
+
+    @Test
+    void should_leave_a_migration_leased_by_another_instance_until_the_next_attempt() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(MigrationCheckpoint.class)))
+                .thenReturn(null);
+
+        assertFalse(migrationRunner.runAll());
+
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), any());
+    }
+
+    @Test
+    void should_rewrite_pending_travels_checkpoint_each_batch_and_drop_legacy_indexes_once_done() {
+        var first = new Document("_id", new ObjectId()).append("pgi", "Marty1").append("place", "Hill Valley").append("date", 16729);
+        var second = new Document("_id", new ObjectId()).append("pgi", "Doc01").append("place", "Hill Valley").append("date", 16730);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(MigrationCheckpoint.class)))
+                .thenReturn(MigrationCheckpoint.builder().version(1).status(MigrationCheckpoint.Status.RUNNING).build());
+        when(mongoTemplate.getCollectionName(TimeTravel.class)).thenReturn("travels");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("travels")))
+                .thenReturn(List.of(first, second), List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "travels")).thenReturn(bulkOperations);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(MigrationCheckpoint.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.indexOps(TimeTravel.class)).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(), "pgi_date", true, false, null),
+                new IndexInfo(List.of(), TimeTravel.TIMELINE_INDEX, false, false, null)));
+
+        migrationRunner.runAll();
+
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+        var inOrder = inOrder(indexOperations, mongoTemplate);
+        inOrder.verify(indexOperations).dropIndex("pgi_date");
+        inOrder.verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(MigrationCheckpoint.class));
+        verify(indexOperations, never()).dropIndex(TimeTravel.TIMELINE_INDEX);
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(MigrationCheckpoint.class));
+        assertEquals(2, meterRegistry.counter("travel.migration.documents", "version", "1", "outcome", "migrated").count());
+    }
+}
@@ -0,0 +1,51 @@
+package com.bernardoms.timetravelapi.unit.migration;
+
+import com.bernardoms.timetravelapi.config.MigrationProperties;
+import com.bernardoms.timetravelapi.migration.MigrationThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MigrationThrottleUnitTest {
+
+    @Test
+    void should_back_off_while_requests_are_over_budget_and_recover_after() {
+        var properties = new MigrationProperties();
+        properties.setBatchSize(400);
+        properties.setMinBatchSize(50);
+        properties.setPause(Duration.ofMillis(50));
+        properties.setMaxPause(Duration.ofMillis(300));
+        properties.setLatencyBudget(Duration.ofMillis(100));
+        var meterRegistry = new SimpleMeterRegistry();
+        var requests = meterRegistry.timer("http.server.requests", "uri", "/v1/travels");
+        requests.record(Duration.ofSeconds(5));
+        var throttle = new MigrationThrottle(properties, meterRegistry);
+
+        requests.record(Duration.ofMillis(250));
+        requests.record(Duration.ofMillis(150));
+        throttle.afterBatch();
+        assertEquals(200, throttle.getBatchSize());
+        assertEquals(Duration.ofMillis(100), throttle.getPause());
+
+        for (int i = 0; i < 3; i++) {
+            requests.record(Duration.ofMillis(500));
+            throttle.afterBatch();
+        }
+        assertEquals(50, throttle.getBatchSize());
+        assertEquals(Duration.ofMillis(300), throttle.getPause());
+
+        requests.record(Duration.ofMillis(20));
+        throttle.afterBatch();
+        assertEquals(100, throttle.getBatchSize());
+        assertEquals(Duration.ofMillis(150), throttle.getPause());
+
+        for (int i = 0; i < 10; i++) {
+            throttle.afterBatch();
+        }
+        assertEquals(400, throttle.getBatchSize());
+        assertEquals(Duration.ofMillis(50), throttle.getPause());
+    }
+}
@@ -0,0 +1,105 @@
+package com.bernardoms.timetravelapi.unit.service;
+
+import com.bernardoms.timetravelapi.config.IdempotencyProperties;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.IdempotencyKeyException;
+import com.bernardoms.timetravelapi.model.IdempotencyKey;
+import com.bernardoms.timetravelapi.repository.IdempotencyKeyRepository;
+import com.bernardoms.timetravelapi.service.IdempotencyKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeysUnitTest {
+    private static final TimeTravelDTO LONDON = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+    private static final TimeTravelDTO PARIS = TimeTravelDTO.builder().pgi("A1234").place("Paris").date(LocalDate.of(2020, 10, 10)).build();
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyKeys idempotencyKeys;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKeys = new IdempotencyKeys(idempotencyKeyRepository, new IdempotencyProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void should_reserve_a_new_key_and_answer_its_retries_from_memory_once_completed() throws IdempotencyKeyException {
+        when(idempotencyKeyRepository.insert(any(IdempotencyKey.class))).then(invocation -> invocation.getArgument(0));
+        var held = idempotencyKeys.reserve("key-1", LONDON);
+        assertNull(held.getTravelId());
+        assertNotNull(held.getReservedTravelId());
+        idempotencyKeys.complete("key-1", LONDON, "507f191e810c19729de860eb");
+
+        assertEquals(new ObjectId("507f191e810c19729de860eb"), idempotencyKeys.reserve("key-1", LONDON).getTravelId());
+        assertThrows(IdempotencyKeyException.class, () -> idempotencyKeys.reserve("key-1", PARIS));
+        verify(idempotencyKeyRepository, times(1)).insert(any(IdempotencyKey.class));
+    }
+
+    @Test
+    void should_answer_keys_completed_elsewhere_and_refuse_keys_in_progress() throws IdempotencyKeyException {
+        var pending = ArgumentCaptor.forClass(IdempotencyKey.class);
+        idempotencyKeys.reserve("key-2", LONDON);
+        verify(idempotencyKeyRepository).insert(pending.capture());
+        var request = pending.getValue().getRequest();
+        when(idempotencyKeyRepository.insert(any(IdempotencyKey.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        when(idempotencyKeyRepository.findById("key-3")).thenReturn(Optional.of(IdempotencyKey.builder().key("key-3").request(request)
+                .reservedTravelId(new ObjectId()).pendingUntil(Instant.now().plusSeconds(60)).build()));
+        var inProgress = assertThrows(IdempotencyKeyException.class, () -> idempotencyKeys.reserve("key-3", LONDON));
+        assertFalse(inProgress.isReused());
+
+        when(idempotencyKeyRepository.findById("key-4")).thenReturn(Optional.of(IdempotencyKey.builder().key("key-4").request(request)
+                .travelId(new ObjectId("507f191e810c19729de860eb")).build()));
+        assertEquals(new ObjectId("507f191e810c19729de860eb"), idempotencyKeys.reserve("key-4", LONDON).getTravelId());
+        assertTrue(assertThrows(IdempotencyKeyException.class, () -> idempotencyKeys.reserve("key-4", PARIS)).isReused());
+    }
+
+    @Test
+    void should_hand_an_abandoned_key_over_with_the_travel_id_it_reserved() throws IdempotencyKeyException {
+        var reservedTravelId = new ObjectId();
+        var pending = ArgumentCaptor.forClass(IdempotencyKey.class);
+        idempotencyKeys.reserve("key-5", LONDON);
+        verify(idempotencyKeyRepository).insert(pending.capture());
+        when(idempotencyKeyRepository.insert(any(IdempotencyKey.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(idempotencyKeyRepository.save(any(IdempotencyKey.class))).then(invocation -> invocation.getArgument(0));
+        when(idempotencyKeyRepository.findById("key-5")).thenReturn(Optional.of(pending.getValue().toBuilder()
+                .reservedTravelId(reservedTravelId).pendingUntil(Instant.now().minusSeconds(1)).build()));
+
+        var held = idempotencyKeys.reserve("key-5", LONDON);
+
+        assertNull(held.getTravelId());
+        assertEquals(reservedTravelId, held.getReservedTravelId());
+        assertTrue(held.getPendingUntil().isAfter(Instant.now()));
+        assertTrue(assertThrows(IdempotencyKeyException.class, () -> idempotencyKeys.reserve("key-5", PARIS)).isReused());
+    }
+
+    @Test
+    void should_refuse_blank_and_oversized_keys() {
+        assertThrows(IllegalArgumentException.class, () -> idempotencyKeys.reserve(" ", LONDON));
+        assertThrows(IllegalArgumentException.class, () -> idempotencyKeys.reserve("k".repeat(256), LONDON));
+    }
+}
@@ -0,0 +1,59 @@
+package com.bernardoms.timetravelapi.unit.service;
+
+import com.bernardoms.timetravelapi.config.ListingProperties;
+import com.bernardoms.timetravelapi.service.ListingGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ListingGuardUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ListingGuard listingGuard = new ListingGuard(new ListingProperties(), meterRegistry);
+
+    @Test
+    void should_accept_bounded_pages_sorted_by_an_index() {
+        assertDoesNotThrow(() -> listingGuard.check(PageRequest.of(0, 20)));
+        assertDoesNotThrow(() -> listingGuard.check(PageRequest.of(99, 100, Sort.by(Sort.Direction.DESC, "id"))));
+        assertDoesNotThrow(() -> listingGuard.check(PageRequest.of(0, 20, Sort.by("pgi", "date"))));
+        assertDoesNotThrow(() -> listingGuard.checkSize(100));
+    }
+
+    @Test
+    void should_refuse_pages_too_large() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> listingGuard.check(PageRequest.of(0, 2000)));
+
+        assertEquals("size should be between 1 and 100", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> listingGuard.check(Pageable.unpaged()));
+        assertThrows(IllegalArgumentException.class, () -> listingGuard.checkSize(0));
+        assertEquals(3, rejections("page_size"));
+    }
+
+    @Test
+    void should_send_deep_pages_to_the_cursor() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> listingGuard.check(PageRequest.of(101, 100)));
+
+        assertEquals("pages past the first 10000 travels are read with ?cursor=", exception.getMessage());
+        assertEquals(1, rejections("offset"));
+    }
+
+    @Test
+    void should_refuse_sorts_no_index_serves() {
+        assertThrows(IllegalArgumentException.class, () -> listingGuard.check(PageRequest.of(0, 20, Sort.by("place"))));
+        assertThrows(IllegalArgumentException.class, () -> listingGuard.check(PageRequest.of(0, 20, Sort.by("date", "pgi"))));
+        assertThrows(IllegalArgumentException.class, () -> listingGuard.check(PageRequest.of(0, 20,
+                Sort.by(Sort.Order.asc("pgi"), Sort.Order.desc("date")))));
+        assertThrows(IllegalArgumentException.class, () -> listingGuard.check(PageRequest.of(0, 20, Sort.by(Sort.Order.asc("pgi").ignoreCase()))));
+        assertEquals(4, rejections("sort"));
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("travel.listing.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,193 @@
+package com.bernardoms.timetravelapi.unit.service;
+
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.config.ListingProperties;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
+import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
+import com.bernardoms.timetravelapi.exception.ParadoxException;
+import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.TimeTravel;
+import com.bernardoms.timetravelapi.repository.ReactiveTimeTravelRepository;
+import com.bernardoms.timetravelapi.service.ListingGuard;
+import com.bernardoms.timetravelapi.service.ReactiveIdempotencyKeys;
+import com.bernardoms.timetravelapi.service.ReactiveTimeTravelServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.validation.Validation;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTimeTravelServiceImplUnitTest {
+
+    @Mock
+    private ReactiveTimeTravelRepository reactiveTimeTravelRepository;
+
+    @Mock
+    private ReactiveIdempotencyKeys idempotencyKeys;
+
+    private ReactiveTimeTravelServiceImpl reactiveTimeTravelService;
+
+    private final ParadoxIndex paradoxIndex = new ParadoxIndex(new ParadoxIndexProperties());
+
+    @BeforeEach
+    void setUp() {
+        reactiveTimeTravelService = new ReactiveTimeTravelServiceImpl(reactiveTimeTravelRepository,
+                new TimeTravelMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new BatchProperties(),
+                new ConcurrentMapCacheManager("travel"),
+                new NegativeTravelCache(new NegativeCacheProperties()),
+                new InProcessTravelInvalidationBus(),
+                paradoxIndex,
+                idempotencyKeys,
+                new ListingGuard(new ListingProperties(), new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void should_save_new_travel_and_return_saved_id() {
+        when(reactiveTimeTravelRepository.insert(any(TimeTravel.class))).thenAnswer(invocation -> {
+            TimeTravel travel = invocation.getArgument(0);
+            travel.setId(new ObjectId("507f191e810c19729de860eb"));
+            return Mono.just(travel);
+        });
+
+        StepVerifier.create(reactiveTimeTravelService.saveTravel(TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build()))
+                .expectNext("507f191e810c19729de860eb")
+                .verifyComplete();
+    }
+
+    @Test
+    void should_serve_saved_travel_from_cache() {
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        when(reactiveTimeTravelRepository.insert(any(TimeTravel.class))).thenAnswer(invocation -> {
+            TimeTravel travel = invocation.getArgument(0);
+            travel.setId(new ObjectId("507f191e810c19729de860eb"));
+            return Mono.just(travel);
+        });
+
+        StepVerifier.create(reactiveTimeTravelService.saveTravel(travelDTO).then(reactiveTimeTravelService.getTravel(new ObjectId("507f191e810c19729de860eb"))))
+                .expectNext(travelDTO)
+                .verifyComplete();
+        verify(reactiveTimeTravelRepository, never()).findTravel(any(ObjectId.class));
+    }
+
+    @Test
+    void should_save_emit_paradox_exception_when_travel_exist_for_a_pgi_at_same_date() {
+        when(reactiveTimeTravelRepository.insert(any(TimeTravel.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(reactiveTimeTravelService.saveTravel(TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build()))
+                .expectErrorMatches(e -> e instanceof ParadoxException
+                        && e.getMessage().equals("Paradox detected! traveler with pgi A1234 already traveled to London at date 2020-10-10"))
+                .verify();
+    }
+
+    @Test
+    void should_save_batch_reporting_paradox_from_database() {
+        var london = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        var rome = TimeTravelDTO.builder().pgi("B1234").place("Rome").date(LocalDate.of(2020, 10, 10)).build();
+
+        when(reactiveTimeTravelRepository.insert(any(TimeTravel.class))).thenAnswer(invocation -> {
+            TimeTravel travel = invocation.getArgument(0);
+            return travel.getPgi().equals("B1234") ? Mono.error(new DuplicateKeyException("E11000 duplicate key error")) : Mono.just(travel);
+        });
+
+        StepVerifier.create(reactiveTimeTravelService.saveTravels(Flux.just(london, rome)))
+                .assertNext(results -> {
+                    assertEquals(BatchItemResultDTO.Status.CREATED, results.get(0).getStatus());
+                    assertEquals(BatchItemResultDTO.Status.PARADOX, results.get(1).getStatus());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void should_get_travel_from_cache_after_first_lookup() {
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        var travel = TimeTravel.builder().id(travelId).pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+
+        when(reactiveTimeTravelRepository.findTravel(travelId)).thenReturn(Mono.just(travel));
+
+        StepVerifier.create(reactiveTimeTravelService.getTravel(travelId))
+                .assertNext(t -> assertEquals("London", t.getPlace()))
+                .verifyComplete();
+        StepVerifier.create(reactiveTimeTravelService.getTravel(travelId))
+                .assertNext(t -> assertEquals("A1234", t.getPgi()))
+                .verifyComplete();
+
+        verify(reactiveTimeTravelRepository, times(1)).findTravel(travelId);
+    }
+
+    @Test
+    void should_emit_travel_not_found_exception_when_not_found_a_travel() {
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        when(reactiveTimeTravelRepository.findTravel(travelId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveTimeTravelService.getTravel(travelId))
+                .expectErrorMatches(e -> e instanceof TravelNotFoundException
+                        && e.getMessage().equals("Travel with id 507f191e810c19729de860eb not found!"))
+                .verify();
+    }
+
+    @Test
+    void should_return_travels_page() {
+        var pageable = PageRequest.of(0, 1);
+        when(reactiveTimeTravelRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(Flux.just(TimeTravel.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build()));
+        when(reactiveTimeTravelRepository.countTravels()).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(reactiveTimeTravelService.getTravels(pageable))
+                .assertNext(page -> {
+                    assertEquals(2, page.getTotalElements());
+                    assertEquals(2, page.getTotalPages());
+                    assertEquals("London", page.getContent().get(0).getPlace());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void should_refuse_a_known_paradox_without_inserting() {
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        when(reactiveTimeTravelRepository.insert(any(TimeTravel.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(reactiveTimeTravelService.saveTravel(travelDTO)).expectError(ParadoxException.class).verify();
+        StepVerifier.create(reactiveTimeTravelService.saveTravel(travelDTO)).expectError(ParadoxException.class).verify();
+
+        verify(reactiveTimeTravelRepository, times(1)).insert(any(TimeTravel.class));
+    }
+
+    @Test
+    void should_delete_travel() {
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        var date = LocalDate.of(2020, 10, 10);
+        paradoxIndex.add("A1234", date);
+        when(reactiveTimeTravelRepository.findAndDeleteById(travelId)).thenReturn(Mono.just(new TimeTravel(travelId, "A1234", null, date)));
+
+        StepVerifier.create(reactiveTimeTravelService.deleteTravel(travelId)).verifyComplete();
+
+        verify(reactiveTimeTravelRepository, times(1)).findAndDeleteById(travelId);
+        assertFalse(paradoxIndex.contains("A1234", date));
+    }
+}
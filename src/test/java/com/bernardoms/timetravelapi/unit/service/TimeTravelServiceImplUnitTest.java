@@ -1,29 +1,60 @@
 package com.bernardoms.timetravelapi.unit.service;
 
+import com.bernardoms.timetravelapi.cache.InProcessTravelInvalidationBus;
+import com.bernardoms.timetravelapi.cache.NegativeTravelCache;
+import com.bernardoms.timetravelapi.cache.ParadoxIndex;
+import com.bernardoms.timetravelapi.cache.TravelInvalidation;
+import com.bernardoms.timetravelapi.cache.TravelInvalidationBus;
+import com.bernardoms.timetravelapi.config.BatchProperties;
+import com.bernardoms.timetravelapi.config.ListingProperties;
+import com.bernardoms.timetravelapi.config.NegativeCacheProperties;
+import com.bernardoms.timetravelapi.config.ParadoxIndexProperties;
+import com.bernardoms.timetravelapi.dto.BatchItemResultDTO;
 import com.bernardoms.timetravelapi.dto.TimeTravelDTO;
 import com.bernardoms.timetravelapi.exception.ParadoxException;
 import com.bernardoms.timetravelapi.exception.TravelNotFoundException;
+import com.bernardoms.timetravelapi.mapper.TimeTravelMapper;
+import com.bernardoms.timetravelapi.model.IdempotencyKey;
 import com.bernardoms.timetravelapi.model.TimeTravel;
 import com.bernardoms.timetravelapi.repository.TimeTravelRepository;
+import com.bernardoms.timetravelapi.service.IdempotencyKeys;
+import com.bernardoms.timetravelapi.service.ListingGuard;
 import com.bernardoms.timetravelapi.service.TimeTravelServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,23 +63,48 @@ class TimeTravelServiceImplUnitTest {
     @Mock
     private TimeTravelRepository timeTravelRepository;
 
+    @Spy
+    private TimeTravelMapper timeTravelMapper = new TimeTravelMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Spy
+    private NegativeTravelCache negativeTravelCache = new NegativeTravelCache(new NegativeCacheProperties());
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager("travel");
+
+    @Spy
+    private TravelInvalidationBus travelInvalidationBus = new InProcessTravelInvalidationBus();
+
+    @Spy
+    private ParadoxIndex paradoxIndex = new ParadoxIndex(new ParadoxIndexProperties());
+
     @Mock
-    private ModelMapper modelMapper;
+    private IdempotencyKeys idempotencyKeys;
+
+    @Spy
+    private ListingGuard listingGuard = new ListingGuard(new ListingProperties(), new SimpleMeterRegistry());
 
     @InjectMocks
     private TimeTravelServiceImpl timeTravelService;
 
     @Test
     void should_save_throw_paradox_exception_when_saving_travel_that_exist_for_a_pgi_at_same_date_and_location() {
-        when(timeTravelRepository
-                .findByPgiAndDate("A1234", LocalDate.of(2020, 10, 10)))
-                .thenReturn(Optional.of(TimeTravel.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10))
-                        .build()));
-        var exception = assertThrows(ParadoxException.class, () -> {
-            timeTravelService.saveTravel(TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build());
-            verify(timeTravelRepository, never()).save(any(TimeTravel.class));
-        });
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        var travel = TimeTravel.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+
+        when(timeTravelRepository.insert(travel)).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        var exception = assertThrows(ParadoxException.class, () -> timeTravelService.saveTravel(travelDTO));
+
         assertEquals("Paradox detected! traveler with pgi A1234 already traveled to London at date 2020-10-10", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        verify(timeTravelRepository, never()).findByPgiAndDate(any(), any());
     }
 
     @Test
@@ -66,12 +122,104 @@ class TimeTravelServiceImplUnitTest {
                 .id(new ObjectId("507f191e810c19729de860eb"))
                 .build();
 
-        when(timeTravelRepository.save(any(TimeTravel.class))).thenReturn(travel);
+        when(timeTravelRepository.insert(any(TimeTravel.class))).thenReturn(travel);
 
-        when(modelMapper.map(travelDTO, TimeTravel.class)).thenReturn(travel);
 
         var savedTravelId = timeTravelService.saveTravel(travelDTO);
         assertEquals("507f191e810c19729de860eb", savedTravelId);
+        assertEquals(travelDTO, cacheManager.getCache("travel").get(travel.getId(), TimeTravelDTO.class));
+        verify(travelInvalidationBus).publish(TravelInvalidation.created(travel));
+    }
+
+    @Test
+    void should_answer_a_retried_idempotency_key_without_saving() throws Exception {
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        when(idempotencyKeys.reserve("retry-1", travelDTO))
+                .thenReturn(IdempotencyKey.builder().key("retry-1").travelId(new ObjectId("507f191e810c19729de860eb")).build());
+
+        assertEquals("507f191e810c19729de860eb", timeTravelService.saveTravel(travelDTO, "retry-1"));
+        verify(timeTravelRepository, never()).insert(any(TimeTravel.class));
+        verify(idempotencyKeys, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void should_complete_the_idempotency_key_once_saved_and_release_it_on_paradox() throws Exception {
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        var travel = TimeTravel.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).id(travelId).build();
+        when(idempotencyKeys.reserve(any(), eq(travelDTO))).thenReturn(IdempotencyKey.builder().key("first").reservedTravelId(travelId).build());
+        when(timeTravelRepository.insert(any(TimeTravel.class))).thenReturn(travel);
+
+        assertEquals("507f191e810c19729de860eb", timeTravelService.saveTravel(travelDTO, "first"));
+        verify(timeTravelRepository).insert(TimeTravel.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).id(travelId).build());
+        verify(idempotencyKeys).complete("first", travelDTO, "507f191e810c19729de860eb");
+
+        var otherId = new ObjectId();
+        when(idempotencyKeys.reserve("second", travelDTO)).thenReturn(IdempotencyKey.builder().key("second").reservedTravelId(otherId).build());
+        when(timeTravelRepository.findTravel(otherId)).thenReturn(Optional.empty());
+        assertThrows(ParadoxException.class, () -> timeTravelService.saveTravel(travelDTO, "second"));
+        verify(idempotencyKeys).release("second");
+    }
+
+    @Test
+    void should_complete_the_idempotency_key_with_the_travel_an_earlier_attempt_saved() throws Exception {
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        when(idempotencyKeys.reserve("retry-1", travelDTO)).thenReturn(IdempotencyKey.builder().key("retry-1").reservedTravelId(travelId).build());
+        when(timeTravelRepository.insert(any(TimeTravel.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        when(timeTravelRepository.findTravel(travelId)).thenReturn(Optional.of(new TimeTravel(travelId, "A1234", "London", travelDTO.getDate())));
+
+        assertEquals("507f191e810c19729de860eb", timeTravelService.saveTravel(travelDTO, "retry-1"));
+        verify(idempotencyKeys).complete("retry-1", travelDTO, "507f191e810c19729de860eb");
+        verify(idempotencyKeys, never()).release(any());
+    }
+
+    @Test
+    void should_save_batch_reporting_created_invalid_and_paradox_items() {
+        var london = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        var invalid = TimeTravelDTO.builder().pgi("12345").place("Paris").date(LocalDate.of(2020, 10, 10)).build();
+        var sameDate = TimeTravelDTO.builder().pgi("A1234").place("Rome").date(LocalDate.of(2020, 10, 10)).build();
+        var alreadyStored = TimeTravelDTO.builder().pgi("B1234").place("Tokyo").date(LocalDate.of(2020, 10, 11)).build();
+
+        when(timeTravelRepository.insertUnordered(anyList())).thenReturn(Set.of(1));
+
+        var results = timeTravelService.saveTravels(Arrays.asList(london, invalid, sameDate, alreadyStored, null));
+
+        assertEquals(BatchItemResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getId());
+        assertEquals(BatchItemResultDTO.Status.INVALID, results.get(1).getStatus());
+        assertEquals("pgi should start with letter and be alphanumeric", results.get(1).getErrors().get("pgi"));
+        assertEquals(BatchItemResultDTO.Status.PARADOX, results.get(2).getStatus());
+        assertEquals("Paradox detected! traveler with pgi A1234 already traveled to Rome at date 2020-10-10", results.get(2).getDescription());
+        assertEquals(BatchItemResultDTO.Status.PARADOX, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+        assertEquals(BatchItemResultDTO.Status.INVALID, results.get(4).getStatus());
+        verify(timeTravelRepository, times(1)).insertUnordered(anyList());
+    }
+
+    @Test
+    void should_save_batch_in_chunks() {
+        batchProperties.setChunkSize(2);
+        var travels = new ArrayList<TimeTravelDTO>();
+        for (int day = 1; day <= 5; day++) {
+            travels.add(TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, day)).build());
+        }
+
+        when(timeTravelRepository.insertUnordered(anyList())).thenReturn(Set.of());
+
+        var results = timeTravelService.saveTravels(travels);
+
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == BatchItemResultDTO.Status.CREATED));
+        verify(timeTravelRepository, times(3)).insertUnordered(anyList());
+    }
+
+    @Test
+    void should_reject_batch_bigger_than_max_size() {
+        batchProperties.setMaxSize(1);
+        var travel = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+
+        assertThrows(IllegalArgumentException.class, () -> timeTravelService.saveTravels(List.of(travel, travel)));
+        verify(timeTravelRepository, never()).insertUnordered(anyList());
     }
 
     @Test
@@ -89,9 +237,8 @@ class TimeTravelServiceImplUnitTest {
                 .date(LocalDate.of(2020, 10, 10))
                 .build();
 
-        when(modelMapper.map(travel, TimeTravelDTO.class)).thenReturn(travelDTO);
 
-        when(timeTravelRepository.findById(new ObjectId("507f191e810c19729de860eb"))).thenReturn(Optional.of(travel));
+        when(timeTravelRepository.findTravel(new ObjectId("507f191e810c19729de860eb"))).thenReturn(Optional.of(travel));
 
         var response = timeTravelService.getTravel(new ObjectId("507f191e810c19729de860eb"));
 
@@ -103,11 +250,36 @@ class TimeTravelServiceImplUnitTest {
     @Test
     void should_throw_travel_not_found_exception_when_not_found_a_travel() {
 
-        when(timeTravelRepository.findById(new ObjectId("507f191e810c19729de860eb"))).thenReturn(Optional.empty());
+        when(timeTravelRepository.findTravel(new ObjectId("507f191e810c19729de860eb"))).thenReturn(Optional.empty());
 
         var exception = assertThrows(TravelNotFoundException.class, () -> timeTravelService.getTravel(new ObjectId("507f191e810c19729de860eb")));
 
         assertEquals("Travel with id 507f191e810c19729de860eb not found!", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void should_not_query_repository_again_for_travel_known_to_be_absent() {
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        when(timeTravelRepository.findTravel(travelId)).thenReturn(Optional.empty());
+
+        assertThrows(TravelNotFoundException.class, () -> timeTravelService.getTravel(travelId));
+        assertThrows(TravelNotFoundException.class, () -> timeTravelService.getTravel(travelId));
+
+        verify(timeTravelRepository, times(1)).findTravel(travelId);
+    }
+
+    @Test
+    void should_not_query_repository_for_deleted_travel() {
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        var travel = new TimeTravel(travelId, "A1234", null, LocalDate.of(2020, 10, 10));
+        when(timeTravelRepository.findAndDeleteById(travelId)).thenReturn(Optional.of(travel));
+
+        timeTravelService.deleteTravel(travelId);
+
+        verify(travelInvalidationBus).publish(TravelInvalidation.deleted(travel));
+        assertThrows(TravelNotFoundException.class, () -> timeTravelService.getTravel(travelId));
+        verify(timeTravelRepository, never()).findTravel(travelId);
     }
 
     @Test
@@ -122,8 +294,8 @@ class TimeTravelServiceImplUnitTest {
                 .date(LocalDate.of(2020, 10, 11))
                 .place("Brazil").build();
 
-        when(timeTravelRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(Arrays.asList(travel1, travel2)));
-        Page<TimeTravelDTO> travels = timeTravelService.getTravels(Pageable.unpaged());
+        when(timeTravelRepository.findAllBy(any(Pageable.class))).thenReturn(new PageImpl<>(Arrays.asList(travel1, travel2)));
+        Page<TimeTravelDTO> travels = timeTravelService.getTravels(PageRequest.of(0, 20));
 
         assertEquals(2, travels.getTotalElements());
 
@@ -134,9 +306,92 @@ class TimeTravelServiceImplUnitTest {
         assertEquals("Brazil", travels.get().filter(t -> t.getPgi().equals("B1234")).findFirst().get().getPlace());
     }
 
+    @Test
+    void should_return_travels_after_cursor_with_next_cursor_when_there_are_more() {
+        var travel1 = TimeTravel.builder().id(new ObjectId("507f191e810c19729de860ea")).pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        var travel2 = TimeTravel.builder().id(new ObjectId("507f191e810c19729de860eb")).pgi("B1234").place("Brazil").date(LocalDate.of(2020, 10, 11)).build();
+
+        when(timeTravelRepository.findByIdGreaterThan(any(ObjectId.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(travel1, travel2), PageRequest.of(0, 2), true));
+
+        var firstPage = timeTravelService.getTravels("", 2);
+
+        assertEquals(2, firstPage.getSize());
+        assertTrue(firstPage.isHasNext());
+        assertEquals("Brazil", firstPage.getContent().get(1).getPlace());
+
+        when(timeTravelRepository.findByIdGreaterThan(eq(new ObjectId("507f191e810c19729de860eb")), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+
+        var lastPage = timeTravelService.getTravels(firstPage.getNext(), 2);
+
+        assertEquals(0, lastPage.getSize());
+        assertFalse(lastPage.isHasNext());
+        assertNull(lastPage.getNext());
+    }
+
+    @Test
+    void should_throw_illegal_argument_exception_when_cursor_is_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> timeTravelService.getTravels("not-a-cursor", 2));
+    }
+
+    @Test
+    void should_throw_illegal_argument_exception_when_cursor_page_size_is_not_positive() {
+        assertThrows(IllegalArgumentException.class, () -> timeTravelService.getTravels("", 0));
+    }
+
+    @Test
+    void should_return_traveler_timeline_with_date_cursor() {
+        var travel1 = TimeTravel.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        var travel2 = TimeTravel.builder().pgi("A1234").place("Brazil").date(LocalDate.of(2020, 10, 11)).build();
+
+        when(timeTravelRepository.findTimeline("A1234", null, null, null, 2)).thenReturn(Arrays.asList(travel1, travel2));
+
+        var firstPage = timeTravelService.getTravelerTimeline("A1234", null, null, null, 1);
+
+        assertEquals(1, firstPage.getSize());
+        assertEquals("London", firstPage.getContent().get(0).getPlace());
+        assertTrue(firstPage.isHasNext());
+
+        when(timeTravelRepository.findTimeline("A1234", null, null, LocalDate.of(2020, 10, 10), 2)).thenReturn(List.of(travel2));
+
+        var lastPage = timeTravelService.getTravelerTimeline("A1234", null, null, firstPage.getNext(), 1);
+
+        assertEquals("Brazil", lastPage.getContent().get(0).getPlace());
+        assertFalse(lastPage.isHasNext());
+    }
+
+    @Test
+    void should_throw_illegal_argument_exception_when_timeline_page_size_is_not_positive() {
+        assertThrows(IllegalArgumentException.class, () -> timeTravelService.getTravelerTimeline("A1234", null, null, null, 0));
+        verifyNoInteractions(timeTravelRepository);
+    }
+
+    @Test
+    void should_refuse_a_known_paradox_without_inserting() {
+        var travelDTO = TimeTravelDTO.builder().pgi("A1234").place("London").date(LocalDate.of(2020, 10, 10)).build();
+        when(timeTravelRepository.insert(any(TimeTravel.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        assertThrows(ParadoxException.class, () -> timeTravelService.saveTravel(travelDTO));
+        assertThrows(ParadoxException.class, () -> timeTravelService.saveTravel(travelDTO));
+        var results = timeTravelService.saveTravels(List.of(travelDTO));
+
+        assertEquals(BatchItemResultDTO.Status.PARADOX, results.get(0).getStatus());
+        verify(timeTravelRepository, times(1)).insert(any(TimeTravel.class));
+        verify(timeTravelRepository, never()).insertUnordered(anyList());
+    }
+
     @Test
     void should_delete_travel() {
-        timeTravelService.deleteTravel(new ObjectId("507f191e810c19729de860eb"));
-        verify(timeTravelRepository, times(1)).deleteById(new ObjectId("507f191e810c19729de860eb"));
+        var travelId = new ObjectId("507f191e810c19729de860eb");
+        var date = LocalDate.of(2020, 10, 10);
+        paradoxIndex.add("A1234", date);
+        when(timeTravelRepository.findAndDeleteById(travelId))
+                .thenReturn(Optional.of(new TimeTravel(travelId, "A1234", null, date)));
+
+        timeTravelService.deleteTravel(travelId);
+
+        verify(timeTravelRepository, times(1)).findAndDeleteById(travelId);
+        assertFalse(paradoxIndex.contains("A1234", date));
     }
 }